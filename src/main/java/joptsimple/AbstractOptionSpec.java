@@ -39,10 +39,12 @@ import static joptsimple.internal.Strings.*;
  * @param <V> represents the type of the arguments this option accepts
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
-abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDescriptor {
+abstract class AbstractOptionSpec<V> implements OptionSpec<V>, SectionedOptionDescriptor {
     private final List<String> options = new ArrayList<>();
     private final String description;
     private boolean forHelp;
+    private String section;
+    private OptionParser owner;
 
     protected AbstractOptionSpec( String option ) {
         this( singletonList( option ), EMPTY );
@@ -79,12 +81,42 @@ abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDescriptor
         return forHelp;
     }
 
+    AbstractOptionSpec<V> inSection( String name ) {
+        if ( name == null )
+            throw new NullPointerException( "illegal null section" );
+
+        section = name;
+        reviseHelp();
+        return this;
+    }
+
+    public final String section() {
+        return section;
+    }
+
     public boolean representsNonOptions() {
         return false;
     }
 
+    void ownedBy( OptionParser parser ) {
+        owner = parser;
+    }
+
+    /*
+     * Help shows how specs are configured, so any change that help could show is reported to the parser that
+     * recognized this spec, whose rendered help it makes stale. A spec not yet recognized has no help to revise.
+     */
+    void reviseHelp() {
+        if ( owner != null )
+            owner.reviseHelp();
+    }
+
     protected abstract V convert( String argument );
 
+    void addValuesIn( String argument, List<String> values ) {
+        values.add( argument );
+    }
+
     protected V convertWith( ValueConverter<V> converter, String argument ) {
         try {
             return Reflection.convertWith( converter, argument );
@@ -101,7 +133,7 @@ abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDescriptor
         return pattern == null ? converter.valueType().getName() : pattern;
     }
 
-    abstract void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    abstract void handleOption( ParseContext context, ArgumentList arguments, OptionSet detectedOptions,
         String detectedArgument );
 
     private void arrangeOptions( List<String> unarranged ) {
@@ -56,10 +56,10 @@ class AlternativeLongOptionSpec extends ArgumentAcceptingOptionSpec<String> {
     }
 
     @Override
-    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
-        if ( !arguments.hasMore() )
-            throw new OptionMissingRequiredArgumentException( this );
-
-        arguments.treatNextAsLongOption();
+    protected void detectOptionArgument( ParseContext context, ArgumentList arguments, OptionSet detectedOptions ) {
+        if ( arguments.hasMore() )
+            arguments.treatNextAsLongOption();
+        else
+            context.report( ParseError.missingRequiredArgument( this ) );
     }
 }
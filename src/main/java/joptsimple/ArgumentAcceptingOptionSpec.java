@@ -27,11 +27,12 @@ package joptsimple;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.StringTokenizer;
 
 import static java.util.Collections.*;
 import static java.util.Objects.*;
 
+import static joptsimple.internal.Classes.*;
+import static joptsimple.internal.ConverterRegistry.*;
 import static joptsimple.internal.Reflection.*;
 import static joptsimple.internal.Strings.*;
 
@@ -62,6 +63,7 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
 
     private boolean optionRequired;
     private ValueConverter<V> converter;
+    private Class<?> valueOfType;
     private String argumentDescription = "";
     private String valueSeparator = String.valueOf( NIL_VALUE_SEPARATOR );
 
@@ -91,7 +93,8 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * </ol>
      *
      * <p>This class converts arguments using those methods in that order; that is, {@code valueOf} would be invoked
-     * before a one-{@link String}-arg constructor would.</p>
+     * before a one-{@link String}-arg constructor would. {@link java.util.UUID} is accepted too, and converted with
+     * {@link java.util.UUID#fromString(String)}.</p>
      *
      * <p>Invoking this method will trump any previous calls to this method or to
      * {@link #withValuesConvertedBy(ValueConverter)}.</p>
@@ -103,7 +106,9 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @throws IllegalArgumentException if the type does not have the standard conversion methods
      */
     public final <T> ArgumentAcceptingOptionSpec<T> ofType( Class<T> argumentType ) {
-        return withValuesConvertedBy( findConverter( argumentType ) );
+        ArgumentAcceptingOptionSpec<T> typed = withValuesConvertedBy( converterFor( argumentType ) );
+        valueOfType = wrapperOf( argumentType );
+        return typed;
     }
 
     /**
@@ -124,9 +129,25 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
             throw new NullPointerException( "illegal null converter" );
 
         converter = (ValueConverter<V>) aConverter;
+        valueOfType = null;
+        reviseHelp();
         return (ArgumentAcceptingOptionSpec<T>) this;
     }
 
+    /**
+     * Puts the option that this spec represents in the given section of help, so that it can be
+     * {@linkplain OptionParser#printHelpOn(java.io.Writer, String) shown} along with the rest of that section alone.
+     *
+     * @param name name of the section
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     * @throws NullPointerException if {@code name} is {@code null}
+     */
+    @Override
+    public ArgumentAcceptingOptionSpec<V> inSection( String name ) {
+        super.inSection( name );
+        return this;
+    }
+
     /**
      * <p>Specifies a description for the argument of the option that this spec represents.  This description is used
      * when generating help information about the parser.</p>
@@ -136,6 +157,7 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      */
     public final ArgumentAcceptingOptionSpec<V> describedAs( String description ) {
         argumentDescription = description;
+        reviseHelp();
         return this;
     }
 
@@ -237,6 +259,7 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      */
     public ArgumentAcceptingOptionSpec<V> required() {
         optionRequired = true;
+        reviseHelp();
         return this;
     }
 
@@ -247,29 +270,69 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
     private void addDefaultValue( V value ) {
         requireNonNull( value );
         defaultValues.add( value );
+        reviseHelp();
     }
 
     @Override
-    final void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    final void handleOption( ParseContext context, ArgumentList arguments, OptionSet detectedOptions,
         String detectedArgument ) {
 
         if ( isNullOrEmpty( detectedArgument ) )
-            detectOptionArgument( parser, arguments, detectedOptions );
+            detectOptionArgument( context, arguments, detectedOptions );
         else
             addArguments( detectedOptions, detectedArgument );
     }
 
     protected void addArguments( OptionSet detectedOptions, String detectedArgument ) {
-        StringTokenizer lexer = new StringTokenizer( detectedArgument, valueSeparator );
-        if ( !lexer.hasMoreTokens() )
-            detectedOptions.addWithArgument( this, detectedArgument );
-        else {
-            while ( lexer.hasMoreTokens() )
-                detectedOptions.addWithArgument( this, lexer.nextToken() );
+        detectedOptions.addWithArgument( this, detectedArgument );
+    }
+
+    void addProbedArguments( OptionSet detectedOptions, String detectedArgument, List<V> probedValues ) {
+        if ( probedValues.isEmpty() )
+            addArguments( detectedOptions, detectedArgument );
+        else
+            detectedOptions.addWithProbedArgument( this, detectedArgument, probedValues );
+    }
+
+    /*
+     * An argument is split into values lazily, when they are asked for. Its values are the runs of characters
+     * between separator characters, as a StringTokenizer would find them; an argument with no such run is itself
+     * the only value.
+     */
+    @Override
+    void addValuesIn( String argument, List<String> values ) {
+        int start = valueStartIn( argument, 0 );
+        if ( start == argument.length() ) {
+            values.add( argument );
+            return;
         }
+
+        while ( start < argument.length() ) {
+            int end = valueEndIn( argument, start );
+            values.add( argument.substring( start, end ) );
+            start = valueStartIn( argument, end );
+        }
+    }
+
+    int valueStartIn( String argument, int from ) {
+        int start = from;
+        while ( start < argument.length() && valueSeparator.indexOf( argument.charAt( start ) ) != -1 )
+            ++start;
+        return start;
+    }
+
+    int valueEndIn( String argument, int start ) {
+        int end = start;
+        while ( end < argument.length() && valueSeparator.indexOf( argument.charAt( end ) ) == -1 )
+            ++end;
+        return end;
+    }
+
+    boolean convertsByValueOf( Class<?> type ) {
+        return valueOfType == type;
     }
 
-    protected abstract void detectOptionArgument( OptionParser parser, ArgumentList arguments,
+    protected abstract void detectOptionArgument( ParseContext context, ArgumentList arguments,
         OptionSet detectedOptions );
 
     @Override
@@ -277,12 +340,37 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
         return convertWith( converter, argument );
     }
 
-    protected boolean canConvertArgument( String argument ) {
-        StringTokenizer lexer = new StringTokenizer( argument, valueSeparator );
+    /*
+     * Converts the values of an argument, as a StringTokenizer would find them, giving null rather than raising an
+     * exception if any of them does not convert. Converters that can probe values do so without exceptions.
+     */
+    List<V> tryConvertValuesIn( String argument ) {
+        List<V> values = new ArrayList<>();
+
+        int start = valueStartIn( argument, 0 );
+        while ( start < argument.length() ) {
+            int end = valueEndIn( argument, start );
+            if ( !tryConvertInto( values, argument.substring( start, end ) ) )
+                return null;
+            start = valueStartIn( argument, end );
+        }
+
+        return values;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private boolean tryConvertInto( List<V> values, String value ) {
+        if ( converter instanceof ProbingValueConverter<?> ) {
+            V converted = ( (ProbingValueConverter<V>) converter ).tryConvert( value );
+            if ( converted == null )
+                return false;
+
+            values.add( converted );
+            return true;
+        }
 
         try {
-            while ( lexer.hasMoreTokens() )
-                convert( lexer.nextToken() );
+            values.add( convert( value ) );
             return true;
         } catch ( OptionException ignored ) {
             return false;
@@ -35,9 +35,10 @@ import static joptsimple.ParserRules.*;
 class ArgumentList {
     private final String[] arguments;
     private int currentIndex;
+    private int longOptionIndex = -1;
 
     ArgumentList( String... arguments ) {
-        this.arguments = arguments.clone();
+        this.arguments = arguments;
     }
 
     boolean hasMore() {
@@ -54,6 +55,10 @@ class ArgumentList {
 
     void treatNextAsLongOption() {
         if ( HYPHEN_CHAR != arguments[ currentIndex ].charAt( 0 ) )
-            arguments[ currentIndex ] = DOUBLE_HYPHEN + arguments[ currentIndex ];
+            longOptionIndex = currentIndex;
+    }
+
+    boolean isTreatedAsLongOption() {
+        return longOptionIndex == currentIndex - 1;
     }
 }
@@ -25,6 +25,7 @@
 
 package joptsimple;
 
+import java.io.IOException;
 import java.util.*;
 
 import joptsimple.internal.Messages;
@@ -49,11 +50,20 @@ import static joptsimple.internal.Strings.*;
  * <p>Subclasses are free to override bits of this implementation as they see fit. Inspect the code
  * carefully to understand the flow of control that this implementation guarantees.</p>
  *
+ * <p>Each invocation of {@link #format(Map)} or {@link #formatTo(Map, Appendable)} collects its rows in a render
+ * context of its own, which the row-adding and output-producing methods work on for the length of the invocation.
+ * A formatter can therefore be reused, and shared among threads, so long as its subclass keeps no per-invocation
+ * state of its own. Those methods may be called only while one of these invocations is under way.</p>
+ *
+ * <p>This class's own {@link #formatTo(Map, Appendable)} writes the rendered rows to its sink one at a time. For
+ * subclasses, it writes the help that {@link #format(Map)} produces, whole.</p>
+ *
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
-public class BuiltinHelpFormatter implements HelpFormatter {
-    private final Rows nonOptionRows;
-    private final Rows optionRows;
+public class BuiltinHelpFormatter implements StreamingHelpFormatter {
+    private final int overallWidth;
+    private final int columnSeparatorWidth;
+    private final ThreadLocal<RenderContext> renderContext = new ThreadLocal<>();
 
     /**
      * Makes a formatter with a pre-configured overall row width and column separator width.
@@ -70,8 +80,8 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      * description column
      */
     public BuiltinHelpFormatter( int desiredOverallWidth, int desiredColumnSeparatorWidth ) {
-        nonOptionRows = new Rows( desiredOverallWidth * 2, 0 );
-        optionRows = new Rows( desiredOverallWidth, desiredColumnSeparatorWidth );
+        overallWidth = desiredOverallWidth;
+        columnSeparatorWidth = desiredColumnSeparatorWidth;
     }
 
     /**
@@ -79,12 +89,60 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      *
      * <p>This implementation:</p>
      * <ul>
+     *     <li>Starts a new render context for the rows of this invocation</li>
      *     <li>Sorts the given descriptors by their first elements of {@link OptionDescriptor#options()}</li>
      *     <li>Passes the resulting sorted set to {@link #addRows(java.util.Collection)}</li>
      *     <li>Returns the result of {@link #formattedHelpOutput()}</li>
      * </ul>
      */
     public String format( Map<String, ? extends OptionDescriptor> options ) {
+        RenderContext enclosing = enterRenderContext( new RenderContext( overallWidth, columnSeparatorWidth ) );
+
+        try {
+            addSortedRows( options );
+            return formattedHelpOutput();
+        } finally {
+            exitRenderContext( enclosing );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation adds rows just as {@link #format(Map)} does, then writes the non-option argument rows,
+     * a line separator if there were any, and the option rows to the sink, a row at a time. A subclass may change
+     * how any of the rows or output is produced, so for subclasses this implementation writes the result of
+     * {@link #format(Map)}, invoked in a render context of its own, instead.</p>
+     */
+    public void formatTo( Map<String, ? extends OptionDescriptor> options, Appendable sink ) throws IOException {
+        RenderContext context = new RenderContext( overallWidth, columnSeparatorWidth );
+        RenderContext enclosing = enterRenderContext( context );
+
+        try {
+            if ( getClass() == BuiltinHelpFormatter.class ) {
+                addSortedRows( options );
+                writeRows( context, sink );
+            } else
+                sink.append( format( options ) );
+        } finally {
+            exitRenderContext( enclosing );
+        }
+    }
+
+    private RenderContext enterRenderContext( RenderContext context ) {
+        RenderContext enclosing = renderContext.get();
+        renderContext.set( context );
+        return enclosing;
+    }
+
+    private void exitRenderContext( RenderContext enclosing ) {
+        if ( enclosing == null )
+            renderContext.remove();
+        else
+            renderContext.set( enclosing );
+    }
+
+    private void addSortedRows( Map<String, ? extends OptionDescriptor> options ) {
         Comparator<OptionDescriptor> comparator =
             new Comparator<OptionDescriptor>() {
                 public int compare( OptionDescriptor first, OptionDescriptor second ) {
@@ -96,8 +154,14 @@ public class BuiltinHelpFormatter implements HelpFormatter {
         sorted.addAll( options.values() );
 
         addRows( sorted );
+    }
 
-        return formattedHelpOutput();
+    private static void writeRows( RenderContext context, Appendable sink ) throws IOException {
+        if ( !context.nonOptionRows.isEmpty() ) {
+            context.nonOptionRows.renderTo( sink );
+            sink.append( LINE_SEPARATOR );
+        }
+        context.optionRows.renderTo( sink );
     }
 
     /**
@@ -116,7 +180,7 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      * @param right text to put in the right column
      */
     protected void addOptionRow( String left, String right ) {
-        optionRows.add(left, right);
+        renderContext().optionRows.add( left, right );
     }
 
     /**
@@ -125,15 +189,16 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      * @param single single row of non-option argument help text
      */
     protected void addNonOptionRow( String single ) {
-        nonOptionRows.add( single, "" );
+        renderContext().nonOptionRows.add( single, "" );
     }
 
     /**
      * Resizes the columns of all the rows to be no wider than the widest element in that column.
      */
     protected void fitRowsToWidth() {
-        nonOptionRows.fitToWidth();
-        optionRows.fitToWidth();
+        RenderContext context = renderContext();
+        context.nonOptionRows.fitToWidth();
+        context.optionRows.fitToWidth();
     }
 
     /**
@@ -142,7 +207,7 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      * @return non-option argument help
      */
     protected String nonOptionOutput() {
-        return nonOptionRows.render();
+        return renderContext().nonOptionRows.render();
     }
 
     /**
@@ -151,7 +216,7 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      * @return option help
      */
     protected String optionOutput() {
-        return optionRows.render();
+        return renderContext().optionRows.render();
     }
 
     /**
@@ -557,4 +622,26 @@ public class BuiltinHelpFormatter implements HelpFormatter {
             keySuffix,
             args );
     }
+
+    /*
+     * Rows belong to the invocation of format() or formatTo() under way on the calling thread; there is nowhere to
+     * put them otherwise.
+     */
+    private RenderContext renderContext() {
+        RenderContext context = renderContext.get();
+        if ( context == null )
+            throw new IllegalStateException( "help rows are rendered only within format() or formatTo()" );
+
+        return context;
+    }
+
+    private static final class RenderContext {
+        final Rows nonOptionRows;
+        final Rows optionRows;
+
+        RenderContext( int overallWidth, int columnSeparatorWidth ) {
+            nonOptionRows = new Rows( overallWidth * 2, 0 );
+            optionRows = new Rows( overallWidth, columnSeparatorWidth );
+        }
+    }
 }
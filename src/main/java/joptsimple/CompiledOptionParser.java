@@ -0,0 +1,144 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import joptsimple.internal.OptionNameMap;
+
+/**
+ * <p>A frozen snapshot of the configuration of an {@link OptionParser}, obtained via
+ * {@link OptionParser#compile()}.</p>
+ *
+ * <p>A compiled parser keeps no state between parses: each invocation of {@link #parse(String...)} runs in a context
+ * of its own. A single instance can therefore be shared by any number of threads without synchronization.</p>
+ *
+ * <p>Options declared on the originating parser after compilation, or changes to its "POSIX-ly correct" or
+ * unrecognized-option settings, do not affect the compiled parser. Clients should finish configuring the
+ * {@linkplain OptionSpec option specs} themselves before compiling.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class CompiledOptionParser {
+    private static final int ASCII_LIMIT = 128;
+
+    private final OptionNameMap<AbstractOptionSpec<?>> recognizedOptions;
+    private final RecognizedOptionSnapshot recognized;
+    private final AbstractOptionSpec<?>[] asciiShortOptions;
+    private final boolean posixlyCorrect;
+    private final boolean allowsUnrecognizedOptions;
+    private final OptionConstraints constraints;
+
+    CompiledOptionParser( OptionNameMap<AbstractOptionSpec<?>> recognizedOptions, RecognizedOptionSnapshot recognized,
+        OptionConstraints constraints, boolean posixlyCorrect, boolean allowsUnrecognizedOptions ) {
+
+        this.recognizedOptions = recognizedOptions;
+        this.recognized = recognized;
+        this.asciiShortOptions = asciiShortOptionsIn( recognized.specsByName() );
+        this.constraints = constraints;
+        this.posixlyCorrect = posixlyCorrect;
+        this.allowsUnrecognizedOptions = allowsUnrecognizedOptions;
+    }
+
+    /**
+     * Parses the given command line arguments according to the option specifications captured by this parser.
+     *
+     * @param arguments arguments to parse
+     * @return an {@link OptionSet} describing the parsed options, their arguments, and any non-option arguments found
+     * @throws OptionException if problems are detected while parsing
+     * @throws NullPointerException if the argument list is {@code null}
+     * @see OptionParser#parse(String...)
+     */
+    public OptionSet parse( String... arguments ) {
+        return parse( arguments, null );
+    }
+
+    /**
+     * Parses the given command line arguments according to the option specifications captured by this parser,
+     * reporting problems in the result rather than by throwing exceptions.
+     *
+     * @param arguments arguments to parse
+     * @return either an {@link OptionSet} describing the parsed options, their arguments, and any non-option
+     * arguments found, or every problem detected while parsing
+     * @throws NullPointerException if the argument list is {@code null}
+     * @see OptionParser#tryParse(String...)
+     */
+    public ParseResult tryParse( String... arguments ) {
+        List<ParseError> errors = new ArrayList<>();
+        OptionSet detected = parse( arguments, errors );
+        return ParseResult.of( detected, errors );
+    }
+
+    private OptionSet parse( String[] arguments, List<ParseError> errors ) {
+        ArgumentList argumentList = new ArgumentList( arguments );
+        OptionSet detected = new OptionSet( recognized );
+        detected.add( specFor( NonOptionArgumentSpec.NAME ) );
+
+        ParseContext context = new ParseContext( this, errors );
+        context.parse( argumentList, detected );
+        constraints.check( detected, context );
+
+        return detected;
+    }
+
+    boolean posixlyCorrect() {
+        return posixlyCorrect;
+    }
+
+    boolean doesAllowsUnrecognizedOptions() {
+        return allowsUnrecognizedOptions;
+    }
+
+    AbstractOptionSpec<?> specFor( String option ) {
+        return recognizedOptions.get( option );
+    }
+
+    AbstractOptionSpec<?> specFor( String source, int start, int end ) {
+        return recognizedOptions.get( source, start, end );
+    }
+
+    AbstractOptionSpec<?> shortOptionAt( String source, int index ) {
+        char option = source.charAt( index );
+        if ( option < asciiShortOptions.length && asciiShortOptions[ option ] != null )
+            return asciiShortOptions[ option ];
+
+        return specFor( source, index, index + 1 );
+    }
+
+    private static AbstractOptionSpec<?>[] asciiShortOptionsIn( Map<String, AbstractOptionSpec<?>> specs ) {
+        AbstractOptionSpec<?>[] table = new AbstractOptionSpec<?>[ ASCII_LIMIT ];
+
+        for ( Map.Entry<String, AbstractOptionSpec<?>> each : specs.entrySet() ) {
+            String option = each.getKey();
+            if ( option.length() == 1 && option.charAt( 0 ) < ASCII_LIMIT )
+                table[ option.charAt( 0 ) ] = each.getValue();
+        }
+
+        return table;
+    }
+}
@@ -44,7 +44,7 @@ class NoArgumentOptionSpec extends AbstractOptionSpec<Void> {
     }
 
     @Override
-    void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    void handleOption( ParseContext context, ArgumentList arguments, OptionSet detectedOptions,
         String detectedArgument ) {
 
         detectedOptions.add( this );
@@ -29,6 +29,7 @@ import java.util.List;
 
 import static java.util.Arrays.*;
 import static java.util.Collections.*;
+import static joptsimple.internal.ConverterRegistry.*;
 import static joptsimple.internal.Reflection.*;
 
 /**
@@ -78,7 +79,8 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      * </ol>
      *
      * <p>This class converts arguments using those methods in that order; that is, {@code valueOf} would be invoked
-     * before a one-{@link String}-arg constructor would.</p>
+     * before a one-{@link String}-arg constructor would. {@link java.util.UUID} is accepted too, and converted with
+     * {@link java.util.UUID#fromString(String)}.</p>
      *
      * <p>Invoking this method will trump any previous calls to this method or to
      * {@link #withValuesConvertedBy(ValueConverter)}.</p>
@@ -91,7 +93,8 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      */
     @SuppressWarnings( "unchecked" )
     public <T> NonOptionArgumentSpec<T> ofType( Class<T> argumentType ) {
-        converter = (ValueConverter<V>) findConverter( argumentType );
+        converter = (ValueConverter<V>) converterFor( argumentType );
+        reviseHelp();
         return (NonOptionArgumentSpec<T>) this;
     }
 
@@ -113,6 +116,7 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
             throw new NullPointerException( "illegal null converter" );
 
         converter = (ValueConverter<V>) aConverter;
+        reviseHelp();
         return (NonOptionArgumentSpec<T>) this;
     }
 
@@ -125,6 +129,22 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      */
     public NonOptionArgumentSpec<V> describedAs( String description ) {
         argumentDescription = description;
+        reviseHelp();
+        return this;
+    }
+
+    /**
+     * Puts the non-option arguments in the given section of help. Non-option arguments are
+     * {@linkplain OptionParser#printHelpOn(java.io.Writer, String) shown} with every section regardless; the section
+     * is there for {@linkplain HelpFormatter help formatters} to read from {@link SectionedOptionDescriptor#section()}.
+     *
+     * @param name name of the section
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     * @throws NullPointerException if {@code name} is {@code null}
+     */
+    @Override
+    public NonOptionArgumentSpec<V> inSection( String name ) {
+        super.inSection( name );
         return this;
     }
 
@@ -134,7 +154,7 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
     }
 
     @Override
-    void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    void handleOption( ParseContext context, ArgumentList arguments, OptionSet detectedOptions,
         String detectedArgument ) {
 
         detectedOptions.addWithArgument( this, detectedArgument );
@@ -0,0 +1,162 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>The dependencies among a parser's options, compiled into rules over sets of spec
+ * {@linkplain RecognizedOptionSnapshot#ordinalOf(OptionSpec) ordinals}.</p>
+ *
+ * <p>Each rule names a target spec and a bitmask of the specs it depends on. Checking a rule against the
+ * {@linkplain OptionSet#presence() presence} bits of a parse takes one pass over the mask's words, without any
+ * option lookups.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+final class OptionConstraints {
+    private final RecognizedOptionSnapshot recognized;
+    private final Rule[] requirements;
+    private final Rule[] availabilities;
+
+    OptionConstraints( RecognizedOptionSnapshot recognized,
+        Map<List<String>, Set<OptionSpec<?>>> requiredIf, Map<List<String>, Set<OptionSpec<?>>> requiredUnless,
+        Map<List<String>, Set<OptionSpec<?>>> availableIf, Map<List<String>, Set<OptionSpec<?>>> availableUnless ) {
+
+        this.recognized = recognized;
+
+        List<Rule> compiled = new ArrayList<>();
+        compile( requiredIf, true, compiled );
+        compile( requiredUnless, false, compiled );
+        requirements = compiled.toArray( new Rule[ compiled.size() ] );
+
+        compiled.clear();
+        compile( availableIf, false, compiled );
+        compile( availableUnless, true, compiled );
+        availabilities = compiled.toArray( new Rule[ compiled.size() ] );
+    }
+
+    static int wordsFor( int bits ) {
+        return ( bits + 63 ) >>> 6;
+    }
+
+    void check( OptionSet options, ParseContext context ) {
+        if ( options.hasHelpOption() )
+            return;
+
+        List<AbstractOptionSpec<?>> missingRequiredOptions = missingRequiredOptionsIn( options );
+        if ( !missingRequiredOptions.isEmpty() )
+            context.report( ParseError.missingRequiredOptions( missingRequiredOptions ) );
+
+        List<AbstractOptionSpec<?>> forbiddenOptions = forbiddenOptionsIn( options );
+        if ( !forbiddenOptions.isEmpty() )
+            context.report( ParseError.unavailableOptions( forbiddenOptions ) );
+    }
+
+    private List<AbstractOptionSpec<?>> missingRequiredOptionsIn( OptionSet options ) {
+        List<AbstractOptionSpec<?>> missingRequiredOptions = new ArrayList<>();
+
+        for ( AbstractOptionSpec<?> each : recognized.requirableSpecs() ) {
+            if ( each.isRequired() && !options.has( each ) )
+                missingRequiredOptions.add( each );
+        }
+
+        long[] presence = options.presence();
+        for ( Rule each : requirements ) {
+            if ( each.appliesTo( presence ) && !each.targetIn( presence ) )
+                missingRequiredOptions.add( each.target );
+        }
+
+        return missingRequiredOptions;
+    }
+
+    private List<AbstractOptionSpec<?>> forbiddenOptionsIn( OptionSet options ) {
+        List<AbstractOptionSpec<?>> forbiddenOptions = new ArrayList<>();
+
+        long[] presence = options.presence();
+        for ( Rule each : availabilities ) {
+            if ( each.appliesTo( presence ) && each.targetIn( presence ) )
+                forbiddenOptions.add( each.target );
+        }
+
+        return forbiddenOptions;
+    }
+
+    private void compile( Map<List<String>, Set<OptionSpec<?>>> dependents, boolean whenAnyPresent,
+        List<Rule> rules ) {
+
+        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : dependents.entrySet() ) {
+            AbstractOptionSpec<?> target = recognized.specsByName().get( each.getKey().iterator().next() );
+            if ( target != null ) {
+                long[] mask = maskOf( each.getValue() );
+                rules.add( new Rule( target, recognized.ordinalOf( target ), mask, whenAnyPresent ) );
+            }
+        }
+    }
+
+    private long[] maskOf( Collection<OptionSpec<?>> specs ) {
+        long[] mask = new long[ wordsFor( recognized.specs().size() ) ];
+
+        for ( OptionSpec<?> each : specs ) {
+            int ordinal = recognized.ordinalOf( each );
+            if ( ordinal >= 0 )
+                mask[ ordinal >>> 6 ] |= 1L << ordinal;
+        }
+
+        return mask;
+    }
+
+    private static final class Rule {
+        final AbstractOptionSpec<?> target;
+        private final int targetOrdinal;
+        private final long[] mask;
+        private final boolean whenAnyPresent;
+
+        Rule( AbstractOptionSpec<?> target, int targetOrdinal, long[] mask, boolean whenAnyPresent ) {
+            this.target = target;
+            this.targetOrdinal = targetOrdinal;
+            this.mask = mask;
+            this.whenAnyPresent = whenAnyPresent;
+        }
+
+        boolean appliesTo( long[] presence ) {
+            for ( int i = 0; i < mask.length; ++i ) {
+                if ( ( mask[ i ] & presence[ i ] ) != 0 )
+                    return whenAnyPresent;
+            }
+
+            return !whenAnyPresent;
+        }
+
+        boolean targetIn( long[] presence ) {
+            return ( presence[ targetOrdinal >>> 6 ] & ( 1L << targetOrdinal ) ) != 0;
+        }
+    }
+}
@@ -61,14 +61,14 @@ public abstract class OptionException extends RuntimeException {
         this.options.addAll( specsToStrings( options ) );
     }
 
-    private List<String> specsToStrings( Collection<? extends OptionSpec<?>> options ) {
+    static List<String> specsToStrings( Collection<? extends OptionSpec<?>> options ) {
         List<String> strings = new ArrayList<>();
         for ( OptionSpec<?> each : options )
             strings.add( specToString( each ) );
         return strings;
     }
 
-    private String specToString( OptionSpec<?> option ) {
+    private static String specToString( OptionSpec<?> option ) {
         return Strings.join( new ArrayList<>( option.options() ), "/" );
     }
 
@@ -90,11 +90,15 @@ public abstract class OptionException extends RuntimeException {
     }
 
     protected final String multipleOptionString() {
+        return multipleOptionString( options );
+    }
+
+    static String multipleOptionString( List<String> options ) {
         StringBuilder buffer = new StringBuilder( "[" );
 
         Set<String> asSet = new LinkedHashSet<String>( options );
         for ( Iterator<String> iter = asSet.iterator(); iter.hasNext(); ) {
-            buffer.append( singleOptionString(iter.next()) );
+            buffer.append( iter.next() );
             if ( iter.hasNext() )
                 buffer.append( ", " );
         }
@@ -30,13 +30,15 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import joptsimple.internal.AbbreviationMap;
-import joptsimple.util.KeyValuePair;
+import joptsimple.internal.OptionNameMap;
+import joptsimple.internal.SimpleOptionNameMap;
 
 import static java.util.Collections.*;
-import static joptsimple.OptionException.*;
-import static joptsimple.OptionParserState.*;
 import static joptsimple.ParserRules.*;
 
 /**
@@ -77,7 +79,8 @@ import static joptsimple.ParserRules.*;
  *   hyphens, question marks, or dots. A hyphen cannot be the first character of a long option specification when
  *   configuring the parser.</li>
  *
- *   <li>You can abbreviate long options, so long as the abbreviation is unique.</li>
+ *   <li>You can abbreviate long options, so long as the abbreviation is unique, unless the parser has been
+ *   {@linkplain #OptionParser(boolean) created to disallow abbreviations}.</li>
  *
  *   <li>Long options can accept single arguments.  The argument can be made required or optional.  The option's
  *   argument can occur:
@@ -187,30 +190,47 @@ import static joptsimple.ParserRules.*;
  * @see <a href="http://www.gnu.org/software/libc/manual">The GNU C Library</a>
  */
 public class OptionParser implements OptionDeclarer {
-    private final AbbreviationMap<AbstractOptionSpec<?>> recognizedOptions;
+    private final boolean allowAbbreviations;
+    private final OptionNameMap<AbstractOptionSpec<?>> recognizedOptions;
     private final ArrayList<AbstractOptionSpec<?>> trainingOrder;
     private final Map<List<String>, Set<OptionSpec<?>>> requiredIf;
     private final Map<List<String>, Set<OptionSpec<?>>> requiredUnless;
     private final Map<List<String>, Set<OptionSpec<?>>> availableIf;
     private final Map<List<String>, Set<OptionSpec<?>>> availableUnless;
+    private final AtomicLong helpRevision = new AtomicLong();
 
-    private OptionParserState state;
     private boolean posixlyCorrect;
     private boolean allowsUnrecognizedOptions;
+    private CompiledOptionParser compiledForParse;
     private HelpFormatter helpFormatter = new BuiltinHelpFormatter();
+    private volatile RenderedHelp renderedHelp;
 
     /**
      * Creates an option parser that initially recognizes no options, and does not exhibit "POSIX-ly correct"
      * behavior.
      */
     public OptionParser() {
-        recognizedOptions = new AbbreviationMap<>();
+        this( true );
+    }
+
+    /**
+     * Creates an option parser that initially recognizes no options, and does not exhibit "POSIX-ly correct"
+     * behavior.
+     *
+     * <p>A parser that disallows abbreviations recognizes options only by their full names. It never consults the
+     * abbreviation trie when looking up an option, which makes it the cheaper choice for programs that do not want
+     * abbreviations in the first place.</p>
+     *
+     * @param allowAbbreviations whether unambiguous abbreviations of long options should be recognized by the parser
+     */
+    public OptionParser( boolean allowAbbreviations ) {
+        this.allowAbbreviations = allowAbbreviations;
+        recognizedOptions = newOptionNameMap();
         trainingOrder = new ArrayList<>();
         requiredIf = new HashMap<>();
         requiredUnless = new HashMap<>();
         availableIf = new HashMap<>();
         availableUnless = new HashMap<>();
-        state = moreOptions( false );
 
         recognize( new NonOptionArgumentSpec<String>() );
     }
@@ -270,7 +290,7 @@ public class OptionParser implements OptionDeclarer {
 
     public void posixlyCorrect( boolean setting ) {
         posixlyCorrect = setting;
-        state = moreOptions( setting );
+        compiledForParse = null;
     }
 
     boolean posixlyCorrect() {
@@ -279,6 +299,7 @@ public class OptionParser implements OptionDeclarer {
 
     public void allowsUnrecognizedOptions() {
         allowsUnrecognizedOptions = true;
+        compiledForParse = null;
     }
 
     boolean doesAllowsUnrecognizedOptions() {
@@ -288,13 +309,19 @@ public class OptionParser implements OptionDeclarer {
     public void recognizeAlternativeLongOptions( boolean recognize ) {
         if ( recognize )
             recognize( new AlternativeLongOptionSpec() );
-        else
+        else {
             recognizedOptions.remove( String.valueOf( RESERVED_FOR_EXTENSIONS ) );
+            compiledForParse = null;
+            renderedHelp = null;
+        }
     }
 
     void recognize( AbstractOptionSpec<?> spec ) {
+        spec.ownedBy( this );
         recognizedOptions.putAll(spec.options(), spec);
         trainingOrder.add( spec );
+        compiledForParse = null;
+        renderedHelp = null;
     }
 
     /**
@@ -316,19 +343,135 @@ public class OptionParser implements OptionDeclarer {
      *
      * The output sink is flushed, but not closed.
      *
+     * <p>If the parser's help formatter is a {@link StreamingHelpFormatter}, help is written to the sink as the
+     * formatter renders it.</p>
+     *
      * @param sink the sink to write information to
      * @throws IOException if there is a problem writing to the sink
      * @throws NullPointerException if {@code sink} is {@code null}
      * @see #printHelpOn(OutputStream)
      */
     public void printHelpOn( Writer sink ) throws IOException {
-        sink.write( helpFormatter.format( _recognizedOptions() ) );
+        printHelp( sink, null );
+    }
+
+    /**
+     * Writes information about the options in the given {@linkplain OptionSpecBuilder#inSection(String) section}
+     * of help to the given output sink.
+     *
+     * The output sink is flushed, but not closed.
+     *
+     * @param sink the sink to write information to
+     * @param section name of the section
+     * @throws IOException if there is a problem writing to the sink
+     * @throws NullPointerException if either argument is {@code null}
+     * @see #printHelpOn(Writer, String)
+     */
+    public void printHelpOn( OutputStream sink, String section ) throws IOException {
+        printHelpOn( new OutputStreamWriter( sink ), section );
+    }
+
+    /**
+     * <p>Writes information about the options in the given {@linkplain OptionSpecBuilder#inSection(String) section}
+     * of help to the given output sink.</p>
+     *
+     * <p>Only the options in the section, and the non-option arguments, are given to the parser's help formatter.
+     * If no option is in the section, the help written is that for a parser with no options.</p>
+     *
+     * The output sink is flushed, but not closed.
+     *
+     * @param sink the sink to write information to
+     * @param section name of the section
+     * @throws IOException if there is a problem writing to the sink
+     * @throws NullPointerException if either argument is {@code null}
+     * @see #printHelpOn(OutputStream, String)
+     * @see #helpSections()
+     */
+    public void printHelpOn( Writer sink, String section ) throws IOException {
+        if ( section == null )
+            throw new NullPointerException( "illegal null section" );
+
+        printHelp( sink, section );
+    }
+
+    /**
+     * Tells the names of the sections of help that options are in, in the order in which their first options were
+     * configured.
+     *
+     * @return names of the sections of help
+     * @see OptionSpecBuilder#inSection(String)
+     * @see ArgumentAcceptingOptionSpec#inSection(String)
+     */
+    public Set<String> helpSections() {
+        return unmodifiableSet( renderedHelp().sections().bySection.keySet() );
+    }
+
+    private void printHelp( Writer sink, String section ) throws IOException {
+        RenderedHelp rendered = renderedHelp();
+        HelpKey key = new HelpKey( section, Locale.getDefault() );
+
+        String help = rendered.texts.get( key );
+        if ( help == null ) {
+            Map<String, AbstractOptionSpec<?>> options =
+                section == null ? _recognizedOptions() : rendered.sections().optionsIn( section );
+
+            if ( rendered.formatter instanceof StreamingHelpFormatter ) {
+                streamHelp( rendered, key, options, sink );
+                return;
+            }
+
+            help = rendered.formatter.format( options );
+            rendered.texts.putIfAbsent( key, help );
+        }
+
+        sink.write( help );
         sink.flush();
     }
 
+    /*
+     * Rendered help is current only as long as the revision it was rendered at. Any change that help could show, to
+     * any of this parser's options, moves the revision on.
+     */
+    void reviseHelp() {
+        helpRevision.incrementAndGet();
+    }
+
+    /*
+     * Help is rendered once per section and locale for as long as neither the formatter nor any of the options change, and
+     * written as-is thereafter.
+     */
+    private RenderedHelp renderedHelp() {
+        long revision = helpRevision.get();
+        RenderedHelp rendered = renderedHelp;
+        if ( rendered == null || rendered.formatter != helpFormatter || rendered.revision != revision ) {
+            rendered = new RenderedHelp( helpFormatter, revision );
+            renderedHelp = rendered;
+        }
+
+        return rendered;
+    }
+
+    /*
+     * Streamed help goes to the sink as it is rendered; it is kept for later prints only if it turns out short
+     * enough, so that very long help is never held whole.
+     */
+    private void streamHelp( RenderedHelp rendered, HelpKey key, Map<String, AbstractOptionSpec<?>> options,
+        Writer sink ) throws IOException {
+
+        HelpCapture capture = new HelpCapture( sink );
+        ( (StreamingHelpFormatter) rendered.formatter ).formatTo( options, capture );
+        sink.flush();
+
+        if ( capture.captured != null )
+            rendered.texts.putIfAbsent( key, capture.captured.toString() );
+    }
+
     /**
      * Tells the parser to use the given formatter when asked to {@linkplain #printHelpOn(java.io.Writer) print help}.
      *
+     * <p>The parser keeps the help the formatter renders, per default locale, until the formatter or the options
+     * change; so a formatter's output should depend only on the options it is given and the default locale.</p>
+     *
      * @param formatter the formatter to use for printing help
      * @throws NullPointerException if the formatter is {@code null}
      */
@@ -337,6 +480,7 @@ public class OptionParser implements OptionDeclarer {
             throw new NullPointerException();
 
         helpFormatter = formatter;
+        renderedHelp = null;
     }
 
     /**
@@ -362,7 +506,7 @@ public class OptionParser implements OptionDeclarer {
         return options;
     }
 
-   /**
+    /**
      * Parses the given command line arguments according to the option specifications given to the parser.
      *
      * @param arguments arguments to parse
@@ -371,174 +515,79 @@ public class OptionParser implements OptionDeclarer {
      * @throws NullPointerException if the argument list is {@code null}
      */
     public OptionSet parse( String... arguments ) {
-        ArgumentList argumentList = new ArgumentList( arguments );
-        OptionSet detected = new OptionSet( recognizedOptions.toJavaUtilMap() );
-        detected.add( recognizedOptions.get( NonOptionArgumentSpec.NAME ) );
-
-        while ( argumentList.hasMore() )
-        	try{			
-            	state.handleArgument( this, argumentList, detected );
-            }catch(NullPointerException e){
-            	e.printStackTrace();
-            }
-
-        reset();
-
-        ensureRequiredOptions( detected );
-        ensureAllowedOptions( detected );
-
-        return detected;
+        return compiledForParse().parse( arguments );
     }
 
     /**
-     * Mandates mutual exclusiveness for the options built by the specified builders.
+     * <p>Parses the given command line arguments according to the option specifications given to the parser,
+     * reporting problems in the result rather than by throwing exceptions.</p>
      *
-     * @param specs descriptors for options that should be mutually exclusive on a command line.
-     * @throws NullPointerException if {@code specs} is {@code null}
+     * <p>Where {@link #parse(String...)} stops at the first problem, this method carries on past unrecognized options
+     * and options missing their required arguments, so that the result reports every problem with the command
+     * line. Its {@linkplain ParseError errors} fill in no stack traces and format no messages until asked to.</p>
+     *
+     * @param arguments arguments to parse
+     * @return either an {@link OptionSet} describing the parsed options, their arguments, and any non-option
+     * arguments found, or every problem detected while parsing
+     * @throws NullPointerException if the argument list is {@code null}
      */
-    public void mutuallyExclusive( OptionSpecBuilder... specs ) {
-        for ( int i = 0; i < specs.length; i++ ) {
-            for ( int j = 0; j < specs.length; j++ ) {
-                if ( i != j )
-                    specs[i].availableUnless( specs[j] );
-            }
-        }
-    }
-
-    private void ensureRequiredOptions( OptionSet options ) {
-        List<AbstractOptionSpec<?>> missingRequiredOptions = missingRequiredOptions(options);
-        boolean helpOptionPresent = isHelpOptionPresent( options );
-
-        if ( !missingRequiredOptions.isEmpty() && !helpOptionPresent )
-            throw new MissingRequiredOptionsException( missingRequiredOptions );
+    public ParseResult tryParse( String... arguments ) {
+        return compiledForParse().tryParse( arguments );
     }
 
-    private void ensureAllowedOptions( OptionSet options ) {
-        List<AbstractOptionSpec<?>> forbiddenOptions = unavailableOptions( options );
-        boolean helpOptionPresent = isHelpOptionPresent( options );
-
-        if ( !forbiddenOptions.isEmpty() && !helpOptionPresent )
-            throw new UnavailableOptionException( forbiddenOptions );
-    }
-
-    private List<AbstractOptionSpec<?>> missingRequiredOptions( OptionSet options ) {
-        List<AbstractOptionSpec<?>> missingRequiredOptions = new ArrayList<>();
-
-        for ( AbstractOptionSpec<?> each : recognizedOptions.toJavaUtilMap().values() ) {
-            if ( each.isRequired() && !options.has( each ) )
-                missingRequiredOptions.add(each);
+    private CompiledOptionParser compiledForParse() {
+        if ( compiledForParse == null ) {
+            RecognizedOptionSnapshot recognized = RecognizedOptionSnapshot.of( recognizedOptions.toJavaUtilMap() );
+            compiledForParse = compile( recognizedOptions, recognized );
         }
 
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : requiredIf.entrySet() ) {
-            AbstractOptionSpec<?> required = specFor( each.getKey().iterator().next() );
-
-            if ( optionsHasAnyOf( options, each.getValue() ) && !options.has( required ) )
-                missingRequiredOptions.add( required );
-        }
-
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : requiredUnless.entrySet() ) {
-            AbstractOptionSpec<?> required = specFor(each.getKey().iterator().next());
-
-            if ( !optionsHasAnyOf( options, each.getValue() ) && !options.has( required ) )
-                missingRequiredOptions.add( required );
-        }
-
-        return missingRequiredOptions;
-    }
-
-    private List<AbstractOptionSpec<?>> unavailableOptions(OptionSet options) {
-        List<AbstractOptionSpec<?>> unavailableOptions = new ArrayList<>();
-
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> eachEntry : availableIf.entrySet() ) {
-            AbstractOptionSpec<?> forbidden = specFor( eachEntry.getKey().iterator().next() );
-
-            if ( !optionsHasAnyOf( options, eachEntry.getValue() ) && options.has( forbidden ) ) {
-                unavailableOptions.add(forbidden);
-            }
-        }
-
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> eachEntry : availableUnless.entrySet() ) {
-            AbstractOptionSpec<?> forbidden = specFor( eachEntry.getKey().iterator().next() );
-
-            if ( optionsHasAnyOf( options, eachEntry.getValue() ) && options.has( forbidden ) ) {
-                unavailableOptions.add(forbidden);
-            }
-        }
-
-        return unavailableOptions;
-    }
-
-    private boolean optionsHasAnyOf( OptionSet options, Collection<OptionSpec<?>> specs ) {
-        for ( OptionSpec<?> each : specs ) {
-            if ( options.has( each ) )
-                return true;
-        }
-
-        return false;
+        return compiledForParse;
     }
 
-    private boolean isHelpOptionPresent( OptionSet options ) {
-        boolean helpOptionPresent = false;
-
-        for ( AbstractOptionSpec<?> each : recognizedOptions.toJavaUtilMap().values() ) {
-            if ( each.isForHelp() && options.has( each ) ) {
-                helpOptionPresent = true;
-                break;
-            }
-        }
+    /**
+     * <p>Gives an immutable snapshot of this parser's configuration: the options it recognizes, their dependencies
+     * on one another, their default values, and the parser's settings.</p>
+     *
+     * <p>Unlike this parser, the resulting parser can be shared among threads and used to parse command lines
+     * concurrently.  Options declared on this parser after compilation are not reflected in the snapshot.</p>
+     *
+     * @return a thread-safe parser that recognizes the options this parser recognizes now
+     */
+    public CompiledOptionParser compile() {
+        OptionNameMap<AbstractOptionSpec<?>> frozenOptions = newOptionNameMap();
+        Map<String, AbstractOptionSpec<?>> recognizedSpecs = recognizedOptions.toJavaUtilMap();
+        for ( Map.Entry<String, AbstractOptionSpec<?>> each : recognizedSpecs.entrySet() )
+            frozenOptions.put( each.getKey(), each.getValue() );
 
-        return helpOptionPresent;
+        return compile( frozenOptions, RecognizedOptionSnapshot.copyOf( recognizedSpecs ) );
     }
 
-    void handleLongOptionToken( String candidate, ArgumentList arguments, OptionSet detected ) {
-        KeyValuePair optionAndArgument = parseLongOptionWithArgument( candidate );
-
-        if ( !isRecognized( optionAndArgument.key ) )
-            throw unrecognizedOption( optionAndArgument.key );
+    private CompiledOptionParser compile( OptionNameMap<AbstractOptionSpec<?>> options,
+        RecognizedOptionSnapshot recognized ) {
 
-        AbstractOptionSpec<?> optionSpec = specFor( optionAndArgument.key );
-        optionSpec.handleOption( this, arguments, detected, optionAndArgument.value );
+        return new CompiledOptionParser(
+            options,
+            recognized,
+            new OptionConstraints( recognized, requiredIf, requiredUnless, availableIf, availableUnless ),
+            posixlyCorrect,
+            allowsUnrecognizedOptions );
     }
 
-    void handleShortOptionToken( String candidate, ArgumentList arguments, OptionSet detected ) {
-        KeyValuePair optionAndArgument = parseShortOptionWithArgument( candidate );
-
-        if ( isRecognized( optionAndArgument.key ) ) {
-            specFor( optionAndArgument.key ).handleOption( this, arguments, detected, optionAndArgument.value );
-        }
-        else
-            handleShortOptionCluster( candidate, arguments, detected );
-    }
-
-    private void handleShortOptionCluster( String candidate, ArgumentList arguments, OptionSet detected ) {
-        char[] options = extractShortOptionsFrom( candidate );
-        validateOptionCharacters( options );
-
-        for ( int i = 0; i < options.length; i++ ) {
-            AbstractOptionSpec<?> optionSpec = specFor( options[ i ] );
-
-            if ( optionSpec.acceptsArguments() && options.length > i + 1 ) {
-                String detectedArgument = String.valueOf( options, i + 1, options.length - 1 - i );
-                optionSpec.handleOption( this, arguments, detected, detectedArgument );
-                break;
+    /**
+     * Mandates mutual exclusiveness for the options built by the specified builders.
+     *
+     * @param specs descriptors for options that should be mutually exclusive on a command line.
+     * @throws NullPointerException if {@code specs} is {@code null}
+     */
+    public void mutuallyExclusive( OptionSpecBuilder... specs ) {
+        for ( int i = 0; i < specs.length; i++ ) {
+            for ( int j = 0; j < specs.length; j++ ) {
+                if ( i != j )
+                    specs[i].availableUnless( specs[j] );
             }
-
-            optionSpec.handleOption( this, arguments, detected, null );
         }
     }
 
-    void handleNonOptionArgument( String candidate, ArgumentList arguments, OptionSet detectedOptions ) {
-        specFor( NonOptionArgumentSpec.NAME ).handleOption( this, arguments, detectedOptions, candidate );
-    }
-
-    void noMoreOptions() {
-        state = OptionParserState.noMoreOptions();
-    }
-
-    boolean looksLikeAnOption( String argument ) {
-        return isShortOptionToken( argument ) || isLongOptionToken( argument );
-    }
-
     boolean isRecognized( String option ) {
         return recognizedOptions.contains( option );
     }
@@ -591,44 +640,128 @@ public class OptionParser implements OptionDeclarer {
         }
 
         associated.add( required );
-    }
-
-    private AbstractOptionSpec<?> specFor( char option ) {
-        return specFor( String.valueOf( option ) );
+        compiledForParse = null;
     }
 
     private AbstractOptionSpec<?> specFor( String option ) {
         return recognizedOptions.get( option );
     }
 
-    private void reset() {
-        state = moreOptions( posixlyCorrect );
+    private OptionNameMap<AbstractOptionSpec<?>> newOptionNameMap() {
+        return allowAbbreviations
+            ? new AbbreviationMap<AbstractOptionSpec<?>>()
+            : new SimpleOptionNameMap<AbstractOptionSpec<?>>();
     }
 
-    private static char[] extractShortOptionsFrom( String argument ) {
-        char[] options = new char[ argument.length() - 1 ];
-        argument.getChars( 1, argument.length(), options, 0 );
+    private static final class HelpCapture implements Appendable {
+        private static final int MAXIMUM_CAPTURED_LENGTH = 1 << 20;
 
-        return options;
+        private final Writer sink;
+        StringBuilder captured = new StringBuilder();
+
+        HelpCapture( Writer sink ) {
+            this.sink = sink;
+        }
+
+        public Appendable append( CharSequence text ) throws IOException {
+            CharSequence chars = text == null ? "null" : text;
+            return append( chars, 0, chars.length() );
+        }
+
+        public Appendable append( CharSequence text, int start, int end ) throws IOException {
+            sink.append( text, start, end );
+            if ( captured != null ) {
+                if ( captured.length() + end - start > MAXIMUM_CAPTURED_LENGTH )
+                    captured = null;
+                else
+                    captured.append( text, start, end );
+            }
+            return this;
+        }
+
+        public Appendable append( char c ) throws IOException {
+            return append( String.valueOf( c ) );
+        }
     }
 
-    private void validateOptionCharacters( char[] options ) {
-        for ( char each : options ) {
-            String option = String.valueOf( each );
+    private final class RenderedHelp {
+        final HelpFormatter formatter;
+        final long revision;
+        final ConcurrentMap<HelpKey, String> texts = new ConcurrentHashMap<>();
+        private volatile HelpSections sections;
 
-            if ( !isRecognized( option ) )
-                throw unrecognizedOption( option );
+        RenderedHelp( HelpFormatter formatter, long revision ) {
+            this.formatter = formatter;
+            this.revision = revision;
+        }
 
-            if ( specFor( option ).acceptsArguments() )
-                return;
+        HelpSections sections() {
+            HelpSections indexed = sections;
+            if ( indexed == null ) {
+                indexed = new HelpSections( _recognizedOptions() );
+                sections = indexed;
+            }
+
+            return indexed;
         }
     }
 
-    private static KeyValuePair parseLongOptionWithArgument( String argument ) {
-        return KeyValuePair.valueOf( argument.substring( 2 ) );
+    /*
+     * Each section's options come with the non-option arguments, which help formatters expect to find among the
+     * options they are given.
+     */
+    private static final class HelpSections {
+        final Map<String, Map<String, AbstractOptionSpec<?>>> bySection = new LinkedHashMap<>();
+        private final Map<String, AbstractOptionSpec<?>> nonOptions = new LinkedHashMap<>();
+
+        HelpSections( Map<String, AbstractOptionSpec<?>> options ) {
+            for ( Map.Entry<String, AbstractOptionSpec<?>> each : options.entrySet() ) {
+                if ( each.getValue().representsNonOptions() )
+                    nonOptions.put( each.getKey(), each.getValue() );
+            }
+
+            for ( Map.Entry<String, AbstractOptionSpec<?>> each : options.entrySet() ) {
+                String section = each.getValue().section();
+                if ( section == null || each.getValue().representsNonOptions() )
+                    continue;
+
+                Map<String, AbstractOptionSpec<?>> inSection = bySection.get( section );
+                if ( inSection == null ) {
+                    inSection = new LinkedHashMap<>( nonOptions );
+                    bySection.put( section, inSection );
+                }
+                inSection.put( each.getKey(), each.getValue() );
+            }
+        }
+
+        Map<String, AbstractOptionSpec<?>> optionsIn( String section ) {
+            Map<String, AbstractOptionSpec<?>> inSection = bySection.get( section );
+            return new LinkedHashMap<>( inSection == null ? nonOptions : inSection );
+        }
     }
 
-    private static KeyValuePair parseShortOptionWithArgument( String argument ) {
-        return KeyValuePair.valueOf( argument.substring( 1 ) );
+    private static final class HelpKey {
+        private final String section;
+        private final Locale locale;
+
+        HelpKey( String section, Locale locale ) {
+            this.section = section;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals( Object that ) {
+            if ( !( that instanceof HelpKey ) )
+                return false;
+
+            HelpKey other = (HelpKey) that;
+            return ( section == null ? other.section == null : section.equals( other.section ) )
+                && locale.equals( other.locale );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( section == null ? 0 : section.hashCode() ) * 31 + locale.hashCode();
+        }
     }
 }
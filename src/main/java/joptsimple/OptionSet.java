@@ -27,34 +27,48 @@ package joptsimple;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.lang.Long.*;
+import static java.lang.System.*;
+import static java.util.Arrays.*;
+
 import static java.util.Collections.*;
 import static java.util.Objects.*;
 
+import static joptsimple.internal.Numbers.*;
+
 /**
  * Representation of a group of detected command line options, their arguments, and non-option arguments.
  *
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 public class OptionSet {
-    private final List<OptionSpec<?>> detectedSpecs;
-    private final Map<String, AbstractOptionSpec<?>> detectedOptions;
-    private final Map<AbstractOptionSpec<?>, List<String>> optionsToArguments;
-    private final Map<String, AbstractOptionSpec<?>> recognizedSpecs;
-    private final Map<String, List<?>> defaultValues;
+    private static final AbstractOptionSpec<?>[] NO_SPECS = new AbstractOptionSpec<?>[ 0 ];
+    private static final int[] NO_ORDINALS = new int[ 0 ];
+    private static final String[] NO_ARGUMENTS = new String[ 0 ];
+
+    private final RecognizedOptionSnapshot recognized;
+    private AbstractOptionSpec<?>[] unrecognizedSpecs = NO_SPECS;
+    private long[] presence;
+    private int[] detectedOrdinals = NO_ORDINALS;
+    private String[] detectedArguments = NO_ARGUMENTS;
+    private List<?>[] probedValues;
+    private int detectedCount;
+    private volatile long[] argumentsByOrdinal;
+    private volatile ConvertedValues convertedValues = ConvertedValues.NONE;
 
     /*
      * Package-private because clients don't create these.
      */
     OptionSet( Map<String, AbstractOptionSpec<?>> recognizedSpecs ) {
-        detectedSpecs = new ArrayList<>();
-        detectedOptions = new HashMap<>();
-        optionsToArguments = new IdentityHashMap<>();
-        defaultValues = defaultValues( recognizedSpecs );
-        this.recognizedSpecs = recognizedSpecs;
+        this( RecognizedOptionSnapshot.of( recognizedSpecs ) );
+    }
+
+    OptionSet( RecognizedOptionSnapshot recognized ) {
+        this.recognized = recognized;
+        presence = new long[ OptionConstraints.wordsFor( recognized.specs().size() ) ];
     }
 
     /**
@@ -63,7 +77,10 @@ public class OptionSet {
      * @return {@code true} if any options were detected
      */
     public boolean hasOptions() {
-        return !( detectedOptions.size() == 1 && detectedOptions.values().iterator().next().representsNonOptions() );
+        if ( bitCountOf( presence ) != 1 )
+            return true;
+
+        return !specAt( detectedOrdinals[ 0 ] ).representsNonOptions();
     }
 
     /**
@@ -74,7 +91,7 @@ public class OptionSet {
      * @see #has(OptionSpec)
      */
     public boolean has( String option ) {
-        return detectedOptions.containsKey( option );
+        return detectedSpecNamed( option ) != null;
     }
 
     /**
@@ -91,7 +108,7 @@ public class OptionSet {
      * @see #has(String)
      */
     public boolean has( OptionSpec<?> option ) {
-        return optionsToArguments.containsKey( option );
+        return isPresent( ordinalOf( option ) );
     }
 
     /**
@@ -102,7 +119,7 @@ public class OptionSet {
      * @see #hasArgument(OptionSpec)
      */
     public boolean hasArgument( String option ) {
-        AbstractOptionSpec<?> spec = detectedOptions.get( option );
+        AbstractOptionSpec<?> spec = detectedSpecNamed( option );
         return spec != null && hasArgument( spec );
     }
 
@@ -123,8 +140,12 @@ public class OptionSet {
     public boolean hasArgument( OptionSpec<?> option ) {
         requireNonNull( option );
 
-        List<String> values = optionsToArguments.get( option );
-        return values != null && !values.isEmpty();
+        int ordinal = ordinalOf( option );
+        if ( !isPresent( ordinal ) )
+            return false;
+
+        long[] arguments = argumentsByOrdinal();
+        return startOf( arguments, ordinal ) < startOf( arguments, ordinal + 1 );
     }
 
     /**
@@ -144,7 +165,7 @@ public class OptionSet {
     public Object valueOf( String option ) {
         requireNonNull( option );
 
-        AbstractOptionSpec<?> spec = detectedOptions.get( option );
+        AbstractOptionSpec<?> spec = detectedSpecNamed( option );
         if ( spec == null ) {
             List<?> defaults = defaultValuesFor( option );
             return defaults.isEmpty() ? null : defaults.get( 0 );
@@ -192,7 +213,7 @@ public class OptionSet {
     public List<?> valuesOf( String option ) {
         requireNonNull( option );
 
-        AbstractOptionSpec<?> spec = detectedOptions.get( option );
+        AbstractOptionSpec<?> spec = detectedSpecNamed( option );
         return spec == null ? defaultValuesFor( option ) : valuesOf( spec );
     }
 
@@ -202,6 +223,9 @@ public class OptionSet {
      *
      * <p>This method recognizes only instances of options returned from the fluent interface methods.</p>
      *
+     * <p>The arguments of an option are converted the first time they are asked for; later calls, from any thread,
+     * answer the same list of converted values.</p>
+     *
      * @param <V> represents the type of the arguments the given option accepts
      * @param option the option to search for
      * @return the arguments associated with the option; an empty list if no such arguments are present, or if the
@@ -213,16 +237,180 @@ public class OptionSet {
     public <V> List<V> valuesOf( OptionSpec<V> option ) {
         requireNonNull( option );
 
-        List<String> values = optionsToArguments.get( option );
-        if ( values == null || values.isEmpty() )
+        int ordinal = ordinalOf( option );
+        if ( !isPresent( ordinal ) )
+            return defaultValueFor( option );
+
+        ConvertedValues converted = convertedValues;
+        @SuppressWarnings( "unchecked" )
+        List<V> cached = (List<V>) converted.get( ordinal );
+        if ( cached != null )
+            return cached;
+
+        long[] arguments = argumentsByOrdinal();
+        int start = startOf( arguments, ordinal );
+        int end = startOf( arguments, ordinal + 1 );
+        if ( start == end )
             return defaultValueFor( option );
 
         AbstractOptionSpec<V> spec = (AbstractOptionSpec<V>) option;
-        List<V> convertedValues = new ArrayList<>();
-        for ( String each : values )
-            convertedValues.add( spec.convert( each ) );
+        List<String> rawValues = new ArrayList<>();
+        List<V> values = new ArrayList<>( end - start );
+        for ( int i = start; i < end; ++i ) {
+            int position = (int) arguments[ i ];
+            if ( probedValues != null && probedValues[ position ] != null ) {
+                @SuppressWarnings( "unchecked" )
+                List<V> probed = (List<V>) probedValues[ position ];
+                values.addAll( probed );
+                continue;
+            }
+
+            rawValues.clear();
+            spec.addValuesIn( detectedArguments[ position ], rawValues );
+            for ( String each : rawValues )
+                values.add( spec.convert( each ) );
+        }
 
-        return unmodifiableList( convertedValues );
+        List<V> result = unmodifiableList( values );
+        convertedValues = converted.with( ordinal, result );
+        return result;
+    }
+
+    /**
+     * Gives the argument associated with the given option, as an {@code int}.
+     *
+     * <p>This method behaves as {@link #valueOf(OptionSpec)} does, except that an option that has no argument and
+     * no default value is an error.</p>
+     *
+     * @param option the option to search for
+     * @return the argument of the given option
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws IllegalStateException if the option has neither an argument nor a default value
+     * @throws OptionException if more than one argument was detected for the option, or if there is a problem
+     * converting the option's argument
+     * @see #intValuesOf(OptionSpec)
+     */
+    public int intValueOf( OptionSpec<Integer> option ) {
+        int[] values = intValuesOf( option );
+        ensureSingleValue( option, values.length );
+        return values[ 0 ];
+    }
+
+    /**
+     * Gives the arguments associated with the given option, as {@code int}s.
+     *
+     * <p>If the option's arguments are converted as by {@link ArgumentAcceptingOptionSpec#ofType(Class)
+     * ofType( int.class )} or {@code ofType( Integer.class )}, they are parsed directly from the command line
+     * arguments, without creating a {@link String} or {@link Integer} for each value. Arguments converted in any
+     * other way are converted as by {@link #valuesOf(OptionSpec)}, then unboxed.</p>
+     *
+     * @param option the option to search for
+     * @return the arguments associated with the option, or its default values if no such arguments are present;
+     * an empty array if there are neither
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if there is a problem converting the option's arguments
+     */
+    public int[] intValuesOf( OptionSpec<Integer> option ) {
+        long[] values = integralValuesOf( option, Integer.class, Integer.MIN_VALUE, Integer.MAX_VALUE );
+
+        int[] ints = new int[ values.length ];
+        for ( int i = 0; i < values.length; ++i )
+            ints[ i ] = (int) values[ i ];
+        return ints;
+    }
+
+    /**
+     * Gives the argument associated with the given option, as a {@code long}.
+     *
+     * <p>This method behaves as {@link #valueOf(OptionSpec)} does, except that an option that has no argument and
+     * no default value is an error.</p>
+     *
+     * @param option the option to search for
+     * @return the argument of the given option
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws IllegalStateException if the option has neither an argument nor a default value
+     * @throws OptionException if more than one argument was detected for the option, or if there is a problem
+     * converting the option's argument
+     * @see #longValuesOf(OptionSpec)
+     */
+    public long longValueOf( OptionSpec<Long> option ) {
+        long[] values = longValuesOf( option );
+        ensureSingleValue( option, values.length );
+        return values[ 0 ];
+    }
+
+    /**
+     * Gives the arguments associated with the given option, as {@code long}s.
+     *
+     * <p>If the option's arguments are converted as by {@link ArgumentAcceptingOptionSpec#ofType(Class)
+     * ofType( long.class )} or {@code ofType( Long.class )}, they are parsed directly from the command line
+     * arguments, without creating a {@link String} or {@link Long} for each value. Arguments converted in any other
+     * way are converted as by {@link #valuesOf(OptionSpec)}, then unboxed.</p>
+     *
+     * @param option the option to search for
+     * @return the arguments associated with the option, or its default values if no such arguments are present;
+     * an empty array if there are neither
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if there is a problem converting the option's arguments
+     */
+    public long[] longValuesOf( OptionSpec<Long> option ) {
+        return integralValuesOf( option, Long.class, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    /**
+     * Gives the argument associated with the given option, as a {@code double}.
+     *
+     * <p>This method behaves as {@link #valueOf(OptionSpec)} does, except that an option that has no argument and
+     * no default value is an error.</p>
+     *
+     * @param option the option to search for
+     * @return the argument of the given option
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws IllegalStateException if the option has neither an argument nor a default value
+     * @throws OptionException if more than one argument was detected for the option, or if there is a problem
+     * converting the option's argument
+     * @see #doubleValuesOf(OptionSpec)
+     */
+    public double doubleValueOf( OptionSpec<Double> option ) {
+        double[] values = doubleValuesOf( option );
+        ensureSingleValue( option, values.length );
+        return values[ 0 ];
+    }
+
+    /**
+     * Gives the arguments associated with the given option, as {@code double}s.
+     *
+     * <p>If the option's arguments are converted as by {@link ArgumentAcceptingOptionSpec#ofType(Class)
+     * ofType( double.class )} or {@code ofType( Double.class )}, they are parsed without creating a {@link Double}
+     * for each value. Arguments converted in any other way are converted as by {@link #valuesOf(OptionSpec)}, then
+     * unboxed.</p>
+     *
+     * @param option the option to search for
+     * @return the arguments associated with the option, or its default values if no such arguments are present;
+     * an empty array if there are neither
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if there is a problem converting the option's arguments
+     */
+    public double[] doubleValuesOf( OptionSpec<Double> option ) {
+        int[] ranges = valueRangesOf( option, Double.class );
+        if ( ranges == null ) {
+            List<Double> boxed = valuesOf( option );
+            double[] values = new double[ boxed.size() ];
+            for ( int i = 0; i < values.length; ++i )
+                values[ i ] = boxed.get( i );
+            return values;
+        }
+
+        double[] values = new double[ ranges.length / 3 ];
+        for ( int i = 0; i < values.length; ++i ) {
+            String value = valueAt( ranges, i );
+            try {
+                values[ i ] = Double.parseDouble( value );
+            } catch ( NumberFormatException ex ) {
+                values[ i ] = ( (AbstractOptionSpec<Double>) option ).convert( value );
+            }
+        }
+        return values;
     }
 
     /**
@@ -232,8 +420,12 @@ public class OptionSet {
      * @return the set of detected command line options
      */
     public List<OptionSpec<?>> specs() {
-        List<OptionSpec<?>> specs = detectedSpecs;
-        specs.removeAll( singletonList( detectedOptions.get( NonOptionArgumentSpec.NAME ) ) );
+        List<OptionSpec<?>> specs = new ArrayList<>();
+        for ( int i = 0; i < detectedCount; ++i ) {
+            AbstractOptionSpec<?> each = specAt( detectedOrdinals[ i ] );
+            if ( !each.representsNonOptions() )
+                specs.add( each );
+        }
 
         return unmodifiableList( specs );
     }
@@ -246,7 +438,7 @@ public class OptionSet {
     public Map<OptionSpec<?>, List<?>> asMap() {
         Map<OptionSpec<?>, List<?>> map = new HashMap<>();
 
-        for ( AbstractOptionSpec<?> spec : recognizedSpecs.values() ) {
+        for ( AbstractOptionSpec<?> spec : recognized.specs() ) {
             if ( !spec.representsNonOptions() )
                 map.put( spec, valuesOf( spec ) );
         }
@@ -258,7 +450,7 @@ public class OptionSet {
      * @return the detected non-option arguments
      */
     public List<?> nonOptionArguments() {
-        AbstractOptionSpec<?> spec = detectedOptions.get( NonOptionArgumentSpec.NAME );
+        AbstractOptionSpec<?> spec = detectedSpecNamed( NonOptionArgumentSpec.NAME );
         return valuesOf( spec );
     }
 
@@ -267,20 +459,56 @@ public class OptionSet {
     }
 
     void addWithArgument( AbstractOptionSpec<?> spec, String argument ) {
-        detectedSpecs.add( spec );
+        int ordinal = ordinalOf( spec );
+        if ( ordinal < 0 )
+            ordinal = addUnrecognized( spec );
+
+        presence[ ordinal >>> 6 ] |= 1L << ordinal;
+
+        if ( detectedCount == detectedOrdinals.length ) {
+            int capacity = Math.max( 4, 2 * detectedCount );
+            detectedOrdinals = copyOf( detectedOrdinals, capacity );
+            detectedArguments = copyOf( detectedArguments, capacity );
+            if ( probedValues != null )
+                probedValues = copyOf( probedValues, capacity );
+        }
+        detectedOrdinals[ detectedCount ] = ordinal;
+        detectedArguments[ detectedCount ] = argument;
+        ++detectedCount;
+
+        if ( argument != null ) {
+            argumentsByOrdinal = null;
+            convertedValues = ConvertedValues.NONE;
+        }
+    }
+
+    /*
+     * The parser converts an argument while probing whether it belongs to an option with an optional argument;
+     * keeping those values spares converting them again when they are asked for.
+     */
+    void addWithProbedArgument( AbstractOptionSpec<?> spec, String argument, List<?> values ) {
+        addWithArgument( spec, argument );
 
-        for ( String each : spec.options() )
-            detectedOptions.put( each, spec );
+        if ( probedValues == null )
+            probedValues = new List<?>[ detectedOrdinals.length ];
+        probedValues[ detectedCount - 1 ] = values;
+    }
 
-        List<String> optionArguments = optionsToArguments.get( spec );
+    /*
+     * One bit per spec, indexed by ordinal, set if the spec was detected. Ordinals of recognized specs are those
+     * of the recognized-options snapshot; specs added that the snapshot does not know are numbered after them.
+     */
+    long[] presence() {
+        return presence;
+    }
 
-        if ( optionArguments == null ) {
-            optionArguments = new ArrayList<>();
-            optionsToArguments.put( spec, optionArguments );
+    boolean hasHelpOption() {
+        for ( int i = 0; i < detectedCount; ++i ) {
+            if ( specAt( detectedOrdinals[ i ] ).isForHelp() )
+                return true;
         }
 
-        if ( argument != null )
-            optionArguments.add( argument );
+        return false;
     }
 
     @Override
@@ -292,22 +520,222 @@ public class OptionSet {
             return false;
 
         OptionSet other = (OptionSet) that;
-        Map<AbstractOptionSpec<?>, List<String>> thisOptionsToArguments = new HashMap<>( optionsToArguments );
-        Map<AbstractOptionSpec<?>, List<String>> otherOptionsToArguments = new HashMap<>( other.optionsToArguments );
-        return detectedOptions.equals( other.detectedOptions )
-            && thisOptionsToArguments.equals( otherOptionsToArguments );
+        return detectedOptions().equals( other.detectedOptions() )
+            && optionsToArguments().equals( other.optionsToArguments() );
     }
 
     @Override
     public int hashCode() {
-        Map<AbstractOptionSpec<?>, List<String>> thisOptionsToArguments = new HashMap<>( optionsToArguments );
-        return detectedOptions.hashCode() ^ thisOptionsToArguments.hashCode();
+        return detectedOptions().hashCode() ^ optionsToArguments().hashCode();
+    }
+
+    private long[] integralValuesOf( OptionSpec<? extends Number> option, Class<?> type, long min, long max ) {
+        int[] ranges = valueRangesOf( option, type );
+        if ( ranges == null ) {
+            List<? extends Number> boxed = valuesOf( option );
+            long[] values = new long[ boxed.size() ];
+            for ( int i = 0; i < values.length; ++i )
+                values[ i ] = boxed.get( i ).longValue();
+            return values;
+        }
+
+        long[] values = new long[ ranges.length / 3 ];
+        for ( int i = 0; i < values.length; ++i ) {
+            String argument = detectedArguments[ ranges[ 3 * i ] ];
+            try {
+                values[ i ] = parseLong( argument, ranges[ 3 * i + 1 ], ranges[ 3 * i + 2 ], min, max );
+            } catch ( NumberFormatException ex ) {
+                values[ i ] = ( (AbstractOptionSpec<? extends Number>) option ).convert( valueAt( ranges, i ) )
+                    .longValue();
+            }
+        }
+        return values;
+    }
+
+    /*
+     * Finds the values of the given option's detected arguments as triples of (position of the argument, start of
+     * the value, end of the value), if its arguments are converted by the given type's valueOf method, so that they
+     * can be parsed in place. Otherwise, or if no arguments were detected, gives null.
+     */
+    private int[] valueRangesOf( OptionSpec<?> option, Class<?> type ) {
+        requireNonNull( option );
+
+        int ordinal = ordinalOf( option );
+        if ( !isPresent( ordinal ) || !( option instanceof ArgumentAcceptingOptionSpec<?> ) )
+            return null;
+
+        ArgumentAcceptingOptionSpec<?> spec = (ArgumentAcceptingOptionSpec<?>) option;
+        if ( !spec.convertsByValueOf( type ) )
+            return null;
+
+        long[] arguments = argumentsByOrdinal();
+        int start = startOf( arguments, ordinal );
+        int end = startOf( arguments, ordinal + 1 );
+        if ( start == end )
+            return null;
+
+        int[] ranges = new int[ 3 * ( end - start ) ];
+        int count = 0;
+        for ( int i = start; i < end; ++i ) {
+            int position = (int) arguments[ i ];
+            String argument = detectedArguments[ position ];
+
+            int valueStart = spec.valueStartIn( argument, 0 );
+            if ( valueStart == argument.length() ) {
+                ranges = ensureRoom( ranges, count );
+                count = addRange( ranges, count, position, 0, argument.length() );
+            }
+            while ( valueStart < argument.length() ) {
+                int valueEnd = spec.valueEndIn( argument, valueStart );
+                ranges = ensureRoom( ranges, count );
+                count = addRange( ranges, count, position, valueStart, valueEnd );
+                valueStart = spec.valueStartIn( argument, valueEnd );
+            }
+        }
+
+        return copyOf( ranges, count );
+    }
+
+    private static int[] ensureRoom( int[] ranges, int count ) {
+        return count + 3 <= ranges.length ? ranges : copyOf( ranges, 2 * ranges.length + 3 );
+    }
+
+    private static int addRange( int[] ranges, int count, int position, int start, int end ) {
+        ranges[ count ] = position;
+        ranges[ count + 1 ] = start;
+        ranges[ count + 2 ] = end;
+        return count + 3;
+    }
+
+    private String valueAt( int[] ranges, int index ) {
+        return detectedArguments[ ranges[ 3 * index ] ].substring( ranges[ 3 * index + 1 ], ranges[ 3 * index + 2 ] );
+    }
+
+    private static void ensureSingleValue( OptionSpec<?> option, int count ) {
+        if ( count == 0 )
+            throw new IllegalStateException( "No argument or default value for option " + option );
+        if ( count > 1 )
+            throw new MultipleArgumentsForOptionException( option );
+    }
+
+    private Map<String, AbstractOptionSpec<?>> detectedOptions() {
+        Map<String, AbstractOptionSpec<?>> options = new HashMap<>();
+        for ( int i = 0; i < detectedCount; ++i ) {
+            AbstractOptionSpec<?> spec = specAt( detectedOrdinals[ i ] );
+            for ( String each : spec.options() )
+                options.put( each, spec );
+        }
+
+        return options;
+    }
+
+    private Map<AbstractOptionSpec<?>, List<String>> optionsToArguments() {
+        Map<AbstractOptionSpec<?>, List<String>> arguments = new HashMap<>();
+        for ( int i = 0; i < detectedCount; ++i ) {
+            AbstractOptionSpec<?> spec = specAt( detectedOrdinals[ i ] );
+            List<String> specArguments = arguments.get( spec );
+            if ( specArguments == null ) {
+                specArguments = new ArrayList<>();
+                arguments.put( spec, specArguments );
+            }
+            if ( detectedArguments[ i ] != null )
+                spec.addValuesIn( detectedArguments[ i ], specArguments );
+        }
+
+        return arguments;
+    }
+
+    private int ordinalOf( OptionSpec<?> spec ) {
+        int ordinal = recognized.ordinalOf( spec );
+        if ( ordinal >= 0 )
+            return ordinal;
+
+        for ( int i = 0; i < unrecognizedSpecs.length; ++i ) {
+            if ( unrecognizedSpecs[ i ] == spec )
+                return recognized.specs().size() + i;
+        }
+
+        return -1;
+    }
+
+    private int addUnrecognized( AbstractOptionSpec<?> spec ) {
+        unrecognizedSpecs = copyOf( unrecognizedSpecs, unrecognizedSpecs.length + 1 );
+        unrecognizedSpecs[ unrecognizedSpecs.length - 1 ] = spec;
+
+        int ordinal = recognized.specs().size() + unrecognizedSpecs.length - 1;
+        presence = copyOf( presence, OptionConstraints.wordsFor( ordinal + 1 ) );
+        return ordinal;
+    }
+
+    private AbstractOptionSpec<?> specAt( int ordinal ) {
+        int recognizedCount = recognized.specs().size();
+        return ordinal < recognizedCount
+            ? recognized.specs().get( ordinal )
+            : unrecognizedSpecs[ ordinal - recognizedCount ];
+    }
+
+    private boolean isPresent( int ordinal ) {
+        return ordinal >= 0 && ( presence[ ordinal >>> 6 ] & ( 1L << ordinal ) ) != 0;
+    }
+
+    private AbstractOptionSpec<?> detectedSpecNamed( String option ) {
+        AbstractOptionSpec<?> spec = recognized.specsByName().get( option );
+        if ( spec != null && isPresent( recognized.ordinalOf( spec ) ) )
+            return spec;
+
+        for ( int i = unrecognizedSpecs.length - 1; i >= 0; --i ) {
+            if ( unrecognizedSpecs[ i ].options().contains( option ) )
+                return unrecognizedSpecs[ i ];
+        }
+
+        return null;
+    }
+
+    /*
+     * Arguments are kept in the order they were detected. On demand, their positions are sorted by the ordinal of
+     * their spec, each entry holding the ordinal in its high word and the position in its low word, so that the
+     * arguments of any one spec are a contiguous slice.
+     */
+    private long[] argumentsByOrdinal() {
+        long[] arguments = argumentsByOrdinal;
+        if ( arguments == null ) {
+            arguments = sortArgumentsByOrdinal();
+            argumentsByOrdinal = arguments;
+        }
+
+        return arguments;
+    }
+
+    private static int startOf( long[] argumentsByOrdinal, int ordinal ) {
+        int index = binarySearch( argumentsByOrdinal, (long) ordinal << 32 );
+        return index < 0 ? -( index + 1 ) : index;
+    }
+
+    private long[] sortArgumentsByOrdinal() {
+        long[] sorted = new long[ detectedCount ];
+        int count = 0;
+        for ( int i = 0; i < detectedCount; ++i ) {
+            if ( detectedArguments[ i ] != null )
+                sorted[ count++ ] = (long) detectedOrdinals[ i ] << 32 | i;
+        }
+
+        long[] arguments = copyOf( sorted, count );
+        sort( arguments );
+        return arguments;
+    }
+
+    private static int bitCountOf( long[] bits ) {
+        int count = 0;
+        for ( long each : bits )
+            count += bitCount( each );
+        return count;
     }
 
     @SuppressWarnings( "unchecked" )
     private <V> List<V> defaultValuesFor( String option ) {
-        if ( defaultValues.containsKey( option ) )
-            return unmodifiableList( (List<V>) defaultValues.get( option ) );
+        List<?> defaults = recognized.defaultValuesFor( option );
+        if ( defaults != null )
+            return unmodifiableList( (List<V>) defaults );
 
         return emptyList();
     }
@@ -316,10 +744,43 @@ public class OptionSet {
         return defaultValuesFor( option.options().iterator().next() );
     }
 
-    private static Map<String, List<?>> defaultValues( Map<String, AbstractOptionSpec<?>> recognizedSpecs ) {
-        Map<String, List<?>> defaults = new HashMap<>();
-        for ( Map.Entry<String, AbstractOptionSpec<?>> each : recognizedSpecs.entrySet() )
-            defaults.put( each.getKey(), each.getValue().defaultValues() );
-        return defaults;
+    /*
+     * Converted arguments by spec ordinal. Instances are immutable, so they can be published through a volatile
+     * field and read by any thread; two threads converting at once can each replace the other's instance, which
+     * merely costs a later conversion.
+     */
+    private static final class ConvertedValues {
+        static final ConvertedValues NONE = new ConvertedValues( NO_ORDINALS, new List<?>[ 0 ] );
+
+        private final int[] ordinals;
+        private final List<?>[] values;
+
+        private ConvertedValues( int[] ordinals, List<?>[] values ) {
+            this.ordinals = ordinals;
+            this.values = values;
+        }
+
+        List<?> get( int ordinal ) {
+            int index = binarySearch( ordinals, ordinal );
+            return index < 0 ? null : values[ index ];
+        }
+
+        ConvertedValues with( int ordinal, List<?> converted ) {
+            int index = binarySearch( ordinals, ordinal );
+            if ( index >= 0 )
+                return this;
+
+            int insertion = -( index + 1 );
+            int[] newOrdinals = new int[ ordinals.length + 1 ];
+            List<?>[] newValues = new List<?>[ values.length + 1 ];
+            arraycopy( ordinals, 0, newOrdinals, 0, insertion );
+            arraycopy( values, 0, newValues, 0, insertion );
+            newOrdinals[ insertion ] = ordinal;
+            newValues[ insertion ] = converted;
+            arraycopy( ordinals, insertion, newOrdinals, insertion + 1, ordinals.length - insertion );
+            arraycopy( values, insertion, newValues, insertion + 1, values.length - insertion );
+
+            return new ConvertedValues( newOrdinals, newValues );
+        }
     }
 }
@@ -70,6 +70,20 @@ public class OptionSpecBuilder extends NoArgumentOptionSpec {
         parser.recognize( this );
     }
 
+    /**
+     * Puts the option that this builder represents in the given section of help, so that it can be
+     * {@linkplain OptionParser#printHelpOn(java.io.Writer, String) shown} along with the rest of that section alone.
+     *
+     * @param name name of the section
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     * @throws NullPointerException if {@code name} is {@code null}
+     */
+    @Override
+    public OptionSpecBuilder inSection( String name ) {
+        super.inSection( name );
+        return this;
+    }
+
     /**
      * Informs an option parser that this builder's option requires an argument.
      *
@@ -77,6 +91,7 @@ public class OptionSpecBuilder extends NoArgumentOptionSpec {
      */
     public ArgumentAcceptingOptionSpec<String> withRequiredArg() {
         ArgumentAcceptingOptionSpec<String> newSpec = new RequiredArgumentOptionSpec<>( options(), description() );
+        keepSectionOf( newSpec );
         parser.recognize( newSpec );
 
         return newSpec;
@@ -90,6 +105,7 @@ public class OptionSpecBuilder extends NoArgumentOptionSpec {
     public ArgumentAcceptingOptionSpec<String> withOptionalArg() {
         ArgumentAcceptingOptionSpec<String> newSpec =
             new OptionalArgumentOptionSpec<>( options(), description() );
+        keepSectionOf( newSpec );
         parser.recognize( newSpec );
 
         return newSpec;
@@ -260,6 +276,11 @@ public class OptionSpecBuilder extends NoArgumentOptionSpec {
         return this;
     }
 
+    private void keepSectionOf( AbstractOptionSpec<?> newSpec ) {
+        if ( section() != null )
+            newSpec.inSection( section() );
+    }
+
     private List<String> validatedDependents( String dependent, String... otherDependents ) {
         List<String> dependents = new ArrayList<>();
         dependents.add( dependent );
@@ -43,14 +43,19 @@ class OptionalArgumentOptionSpec<V> extends ArgumentAcceptingOptionSpec<V> {
     }
 
     @Override
-    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
+    protected void detectOptionArgument( ParseContext context, ArgumentList arguments, OptionSet detectedOptions ) {
         if ( arguments.hasMore() ) {
             String nextArgument = arguments.peek();
+            boolean looksLikeAnOption = context.looksLikeAnOption( nextArgument );
 
-            if ( !parser.looksLikeAnOption( nextArgument ) && canConvertArgument( nextArgument ) )
-                handleOptionArgument( parser, detectedOptions, arguments );
-            else if ( isArgumentOfNumberType() && canConvertArgument( nextArgument ) )
-                addArguments( detectedOptions, arguments.next() );
+            List<V> probedValues = !looksLikeAnOption || isArgumentOfNumberType()
+                ? tryConvertValuesIn( nextArgument )
+                : null;
+
+            if ( probedValues != null && !looksLikeAnOption )
+                handleOptionArgument( context, detectedOptions, arguments, probedValues );
+            else if ( probedValues != null )
+                addProbedArguments( detectedOptions, arguments.next(), probedValues );
             else
                 detectedOptions.add( this );
         }
@@ -58,12 +63,14 @@ class OptionalArgumentOptionSpec<V> extends ArgumentAcceptingOptionSpec<V> {
             detectedOptions.add( this );
     }
 
-    private void handleOptionArgument( OptionParser parser, OptionSet detectedOptions, ArgumentList arguments ) {
-        if ( parser.posixlyCorrect() ) {
+    private void handleOptionArgument( ParseContext context, OptionSet detectedOptions, ArgumentList arguments,
+        List<V> probedValues ) {
+
+        if ( context.posixlyCorrect() ) {
             detectedOptions.add( this );
-            parser.noMoreOptions();
+            context.noMoreOptions();
         }
         else
-            addArguments( detectedOptions, arguments.next() );
+            addProbedArguments( detectedOptions, arguments.next(), probedValues );
     }
 }
@@ -0,0 +1,202 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.List;
+
+import static joptsimple.ParserRules.*;
+import static joptsimple.internal.Strings.*;
+
+/**
+ * Holds the state of a single parse of a command line, so that parsers themselves need not carry any.
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+final class ParseContext {
+    private static final int MORE_OPTIONS = 0;
+    private static final int NO_MORE_OPTIONS = 1;
+
+    private final CompiledOptionParser parser;
+    private final List<ParseError> errors;
+
+    private int state = MORE_OPTIONS;
+    private AbstractOptionSpec<?>[] cluster = new AbstractOptionSpec<?>[ 0 ];
+
+    /*
+     * With no list to collect errors in, the first error found is thrown as the corresponding OptionException.
+     */
+    ParseContext( CompiledOptionParser parser, List<ParseError> errors ) {
+        this.parser = parser;
+        this.errors = errors;
+    }
+
+    void parse( ArgumentList arguments, OptionSet detected ) {
+        while ( arguments.hasMore() ) {
+            String candidate = arguments.next();
+
+            switch ( state ) {
+                case MORE_OPTIONS:
+                    if ( handleOptionToken( candidate, arguments, detected ) )
+                        break;
+                    if ( parser.posixlyCorrect() )
+                        noMoreOptions();
+                    handleNonOptionArgument( candidate, arguments, detected );
+                    break;
+                default:
+                    handleNonOptionArgument( candidate, arguments, detected );
+                    break;
+            }
+        }
+    }
+
+    private boolean handleOptionToken( String candidate, ArgumentList arguments, OptionSet detected ) {
+        boolean alternativeLongOption = arguments.isTreatedAsLongOption();
+
+        switch ( alternativeLongOption ? LONG_OPTION_TOKEN : classify( candidate ) ) {
+            case OPTION_TERMINATOR_TOKEN:
+                noMoreOptions();
+                return true;
+            case LONG_OPTION_TOKEN:
+                int nameStart = alternativeLongOption ? 0 : DOUBLE_HYPHEN.length();
+                return handleLongOptionToken( candidate, nameStart, arguments, detected );
+            case SHORT_OPTION_TOKEN:
+                return handleShortOptionToken( candidate, arguments, detected );
+            default:
+                return false;
+        }
+    }
+
+    private boolean handleLongOptionToken( String candidate, int nameStart, ArgumentList arguments,
+        OptionSet detected ) {
+
+        int nameEnd = nameEndOf( candidate, nameStart );
+
+        AbstractOptionSpec<?> optionSpec = parser.specFor( candidate, nameStart, nameEnd );
+        if ( optionSpec == null )
+            return unrecognizedOption( candidate.substring( nameStart, nameEnd ) );
+
+        optionSpec.handleOption( this, arguments, detected, argumentAfter( candidate, nameEnd ) );
+        return true;
+    }
+
+    private boolean handleShortOptionToken( String candidate, ArgumentList arguments, OptionSet detected ) {
+        int nameEnd = nameEndOf( candidate, HYPHEN.length() );
+
+        AbstractOptionSpec<?> optionSpec = nameEnd == HYPHEN.length() + 1
+            ? parser.shortOptionAt( candidate, HYPHEN.length() )
+            : parser.specFor( candidate, HYPHEN.length(), nameEnd );
+        if ( optionSpec == null )
+            return handleShortOptionCluster( candidate, arguments, detected );
+
+        optionSpec.handleOption( this, arguments, detected, argumentAfter( candidate, nameEnd ) );
+        return true;
+    }
+
+    private boolean handleShortOptionCluster( String candidate, ArgumentList arguments, OptionSet detected ) {
+        int clusterEnd = resolveClusterOf( candidate );
+        if ( clusterEnd < 0 )
+            return unrecognizedOption( String.valueOf( candidate.charAt( HYPHEN.length() + ~clusterEnd ) ) );
+
+        for ( int i = 0; i < clusterEnd; i++ ) {
+            AbstractOptionSpec<?> optionSpec = cluster[ i ];
+
+            int argumentStart = HYPHEN.length() + i + 1;
+            if ( optionSpec.acceptsArguments() && candidate.length() > argumentStart )
+                optionSpec.handleOption( this, arguments, detected, candidate.substring( argumentStart ) );
+            else
+                optionSpec.handleOption( this, arguments, detected, null );
+        }
+
+        return true;
+    }
+
+    /*
+     * Looks up each option in a cluster once, stopping after the first that accepts arguments, since the rest of the
+     * cluster is its argument. Nothing is handled until the whole cluster is known to be recognized; if an option is
+     * not, the answer is the complement of its index in the cluster.
+     */
+    private int resolveClusterOf( String candidate ) {
+        int length = candidate.length() - HYPHEN.length();
+        if ( cluster.length < length )
+            cluster = new AbstractOptionSpec<?>[ length ];
+
+        for ( int i = 0; i < length; i++ ) {
+            AbstractOptionSpec<?> optionSpec = parser.shortOptionAt( candidate, HYPHEN.length() + i );
+            if ( optionSpec == null )
+                return ~i;
+
+            cluster[ i ] = optionSpec;
+            if ( optionSpec.acceptsArguments() )
+                return i + 1;
+        }
+
+        return length;
+    }
+
+    private void handleNonOptionArgument( String candidate, ArgumentList arguments, OptionSet detectedOptions ) {
+        parser.specFor( NonOptionArgumentSpec.NAME ).handleOption( this, arguments, detectedOptions, candidate );
+    }
+
+    /*
+     * Answers whether the token naming the option was consumed; if unrecognized options are allowed, it was not,
+     * and is taken as a non-option argument instead.
+     */
+    private boolean unrecognizedOption( String option ) {
+        if ( parser.doesAllowsUnrecognizedOptions() )
+            return false;
+
+        report( ParseError.unrecognizedOption( option ) );
+        return true;
+    }
+
+    void report( ParseError error ) {
+        if ( errors == null )
+            throw error.toException();
+
+        errors.add( error );
+    }
+
+    void noMoreOptions() {
+        state = NO_MORE_OPTIONS;
+    }
+
+    boolean looksLikeAnOption( String argument ) {
+        return isOptionToken( argument );
+    }
+
+    boolean posixlyCorrect() {
+        return parser.posixlyCorrect();
+    }
+
+    private static int nameEndOf( String candidate, int nameStart ) {
+        int equalsIndex = candidate.indexOf( '=', nameStart );
+        return equalsIndex == -1 ? candidate.length() : equalsIndex;
+    }
+
+    private static String argumentAfter( String candidate, int nameEnd ) {
+        return nameEnd == candidate.length() ? EMPTY : candidate.substring( nameEnd + 1 );
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.List;
+import java.util.Locale;
+
+import joptsimple.internal.Messages;
+
+import static java.util.Collections.*;
+import static joptsimple.OptionException.*;
+
+/**
+ * <p>Describes a problem detected while {@linkplain OptionParser#tryParse(String...) parsing} a command line,
+ * without raising an exception.</p>
+ *
+ * <p>An error carries no stack trace. Its message is formatted only when asked for, using the same text as the
+ * {@link OptionException} that {@link OptionParser#parse(String...)} would throw for the problem.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class ParseError {
+    /**
+     * The kinds of problems a parse can detect.
+     */
+    public enum Kind {
+        /** An option that the parser does not recognize. */
+        UNRECOGNIZED_OPTION( UnrecognizedOptionException.class, false ),
+
+        /** An option that requires an argument, at the end of the command line. */
+        MISSING_REQUIRED_ARGUMENT( OptionMissingRequiredArgumentException.class, false ),
+
+        /** Options that are required, but absent from the command line. */
+        MISSING_REQUIRED_OPTIONS( MissingRequiredOptionsException.class, true ),
+
+        /** Options that are present, but unavailable given other options on the command line. */
+        UNAVAILABLE_OPTIONS( UnavailableOptionException.class, true );
+
+        private final Class<? extends OptionException> exceptionType;
+        private final boolean listsOptions;
+
+        Kind( Class<? extends OptionException> exceptionType, boolean listsOptions ) {
+            this.exceptionType = exceptionType;
+            this.listsOptions = listsOptions;
+        }
+    }
+
+    private final Kind kind;
+    private final String unrecognizedOption;
+    private final List<? extends AbstractOptionSpec<?>> specs;
+
+    private ParseError( Kind kind, String unrecognizedOption, List<? extends AbstractOptionSpec<?>> specs ) {
+        this.kind = kind;
+        this.unrecognizedOption = unrecognizedOption;
+        this.specs = specs;
+    }
+
+    static ParseError unrecognizedOption( String option ) {
+        return new ParseError( Kind.UNRECOGNIZED_OPTION, option, null );
+    }
+
+    static ParseError missingRequiredArgument( AbstractOptionSpec<?> option ) {
+        return new ParseError( Kind.MISSING_REQUIRED_ARGUMENT, null, singletonList( option ) );
+    }
+
+    static ParseError missingRequiredOptions( List<? extends AbstractOptionSpec<?>> options ) {
+        return new ParseError( Kind.MISSING_REQUIRED_OPTIONS, null, options );
+    }
+
+    static ParseError unavailableOptions( List<? extends AbstractOptionSpec<?>> options ) {
+        return new ParseError( Kind.UNAVAILABLE_OPTIONS, null, options );
+    }
+
+    /**
+     * Gives the kind of problem detected.
+     *
+     * @return the kind of problem
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Gives the options involved in the problem, as {@link OptionException#options()} would.
+     *
+     * @return the options involved in the problem
+     */
+    public List<String> options() {
+        return unrecognizedOption == null
+            ? unmodifiableList( specsToStrings( specs ) )
+            : singletonList( unrecognizedOption );
+    }
+
+    /**
+     * Gives a description of the problem in the default locale.
+     *
+     * @return a description of the problem
+     */
+    public String message() {
+        return message( Locale.getDefault() );
+    }
+
+    /**
+     * Gives a description of the problem in the given locale.
+     *
+     * @param locale the locale of the description
+     * @return a description of the problem
+     */
+    public String message( Locale locale ) {
+        List<String> options = options();
+        String argument = kind.listsOptions ? multipleOptionString( options ) : options.get( 0 );
+
+        return Messages.message( locale, "joptsimple.ExceptionMessages", kind.exceptionType, "message", argument );
+    }
+
+    /**
+     * Gives the exception that {@link OptionParser#parse(String...)} throws for this problem.
+     *
+     * @return an exception describing this problem
+     */
+    public OptionException toException() {
+        switch ( kind ) {
+            case UNRECOGNIZED_OPTION:
+                return new UnrecognizedOptionException( unrecognizedOption );
+            case MISSING_REQUIRED_ARGUMENT:
+                return new OptionMissingRequiredArgumentException( specs.get( 0 ) );
+            case MISSING_REQUIRED_OPTIONS:
+                return new MissingRequiredOptionsException( specs );
+            default:
+                return new UnavailableOptionException( specs );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return message();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.List;
+
+import static java.util.Collections.*;
+
+/**
+ * <p>The outcome of {@linkplain OptionParser#tryParse(String...) parsing} a command line without raising exceptions:
+ * either the detected options, or every problem found while parsing.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class ParseResult {
+    private final OptionSet detected;
+    private final List<ParseError> errors;
+
+    private ParseResult( OptionSet detected, List<ParseError> errors ) {
+        this.detected = detected;
+        this.errors = errors;
+    }
+
+    static ParseResult of( OptionSet detected, List<ParseError> errors ) {
+        return new ParseResult( errors.isEmpty() ? detected : null, unmodifiableList( errors ) );
+    }
+
+    /**
+     * Tells whether the command line parsed without problems.
+     *
+     * @return {@code true} if no problems were found
+     */
+    public boolean isSuccessful() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Gives the options detected in a command line that parsed without problems.
+     *
+     * @return an {@link OptionSet} describing the parsed options, their arguments, and any non-option arguments found
+     * @throws OptionException the exception for the first problem found, as {@link OptionParser#parse(String...)}
+     * would have thrown, if the parse was not successful
+     */
+    public OptionSet optionSet() {
+        if ( !isSuccessful() )
+            throw errors.get( 0 ).toException();
+
+        return detected;
+    }
+
+    /**
+     * Gives the problems found while parsing, in the order they were found.
+     *
+     * @return the problems found; an empty list if the parse was successful
+     */
+    public List<ParseError> errors() {
+        return errors;
+    }
+}
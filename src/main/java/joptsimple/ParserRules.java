@@ -41,22 +41,27 @@ final class ParserRules {
     static final String OPTION_TERMINATOR = DOUBLE_HYPHEN;
     static final String RESERVED_FOR_EXTENSIONS = "W";
 
+    static final int NON_OPTION_TOKEN = 0;
+    static final int SHORT_OPTION_TOKEN = 1;
+    static final int LONG_OPTION_TOKEN = 2;
+    static final int OPTION_TERMINATOR_TOKEN = 3;
+
     private ParserRules() {
         throw new UnsupportedOperationException();
     }
 
-    static boolean isShortOptionToken( String argument ) {
-        return argument.startsWith( HYPHEN )
-            && !HYPHEN.equals( argument )
-            && !isLongOptionToken( argument );
-    }
+    static int classify( String argument ) {
+        if ( argument.length() < 2 || argument.charAt( 0 ) != HYPHEN_CHAR )
+            return NON_OPTION_TOKEN;
+        if ( argument.charAt( 1 ) != HYPHEN_CHAR )
+            return SHORT_OPTION_TOKEN;
 
-    static boolean isLongOptionToken( String argument ) {
-        return argument.startsWith( DOUBLE_HYPHEN ) && !isOptionTerminator( argument );
+        return argument.length() == DOUBLE_HYPHEN.length() ? OPTION_TERMINATOR_TOKEN : LONG_OPTION_TOKEN;
     }
 
-    static boolean isOptionTerminator( String argument ) {
-        return OPTION_TERMINATOR.equals( argument );
+    static boolean isOptionToken( String argument ) {
+        int kind = classify( argument );
+        return kind == SHORT_OPTION_TOKEN || kind == LONG_OPTION_TOKEN;
     }
 
     static void ensureLegalOption( String option ) {
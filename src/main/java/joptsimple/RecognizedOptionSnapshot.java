@@ -0,0 +1,132 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Collections.*;
+
+/**
+ * <p>An immutable view of the options a parser recognizes: each option name with its spec, the distinct specs and
+ * their ordinals, the default values of each option, and the specs that can be marked
+ * {@linkplain ArgumentAcceptingOptionSpec#required() required}.</p>
+ *
+ * <p>Built once per set of recognized options, so that parsing touches only the options that actually appear on a
+ * command line.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+final class RecognizedOptionSnapshot {
+    private final Map<String, AbstractOptionSpec<?>> specsByName;
+    private final List<AbstractOptionSpec<?>> specs;
+    private final Map<AbstractOptionSpec<?>, Integer> ordinals;
+    private final Map<String, List<?>> defaultValues;
+    private final List<AbstractOptionSpec<?>> requirableSpecs;
+
+    private RecognizedOptionSnapshot( Map<String, AbstractOptionSpec<?>> specsByName, boolean copyDefaults ) {
+        this.specsByName = unmodifiableMap( new HashMap<>( specsByName ) );
+
+        List<AbstractOptionSpec<?>> distinct = new ArrayList<>();
+        Map<AbstractOptionSpec<?>, Integer> specOrdinals = new IdentityHashMap<>();
+        Map<String, List<?>> defaults = new HashMap<>();
+        List<AbstractOptionSpec<?>> requirable = new ArrayList<>();
+
+        for ( Map.Entry<String, AbstractOptionSpec<?>> each : new TreeMap<>( specsByName ).entrySet() ) {
+            AbstractOptionSpec<?> spec = each.getValue();
+            if ( !specOrdinals.containsKey( spec ) ) {
+                specOrdinals.put( spec, distinct.size() );
+                distinct.add( spec );
+            }
+
+            List<?> specDefaults = spec.defaultValues();
+            if ( copyDefaults )
+                specDefaults = unmodifiableList( new ArrayList<>( specDefaults ) );
+            defaults.put( each.getKey(), specDefaults );
+
+            if ( spec instanceof ArgumentAcceptingOptionSpec<?> )
+                requirable.add( spec );
+        }
+
+        this.specs = unmodifiableList( distinct );
+        this.ordinals = specOrdinals;
+        this.defaultValues = defaults;
+        this.requirableSpecs = requirable;
+    }
+
+    /**
+     * Gives a snapshot whose default values follow later changes to the specs' defaults.
+     *
+     * @param specsByName the recognized option names and their specs
+     * @return a snapshot of the given options
+     */
+    static RecognizedOptionSnapshot of( Map<String, AbstractOptionSpec<?>> specsByName ) {
+        return new RecognizedOptionSnapshot( specsByName, false );
+    }
+
+    /**
+     * Gives a snapshot whose default values are copied, and so do not follow later changes to the specs' defaults.
+     *
+     * @param specsByName the recognized option names and their specs
+     * @return a snapshot of the given options
+     */
+    static RecognizedOptionSnapshot copyOf( Map<String, AbstractOptionSpec<?>> specsByName ) {
+        return new RecognizedOptionSnapshot( specsByName, true );
+    }
+
+    Map<String, AbstractOptionSpec<?>> specsByName() {
+        return specsByName;
+    }
+
+    List<AbstractOptionSpec<?>> specs() {
+        return specs;
+    }
+
+    /*
+     * Ordinals are dense, numbering the distinct specs from zero in the order of specs().
+     */
+    int ordinalOf( OptionSpec<?> spec ) {
+        Integer ordinal = ordinals.get( spec );
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    List<?> defaultValuesFor( String option ) {
+        return defaultValues.get( option );
+    }
+
+    /*
+     * Only argument-accepting specs can be marked required, and they can be so marked after they are recognized,
+     * so whether each is required is asked at parse time. Listed once per option name, as missing required options
+     * always have been.
+     */
+    List<AbstractOptionSpec<?>> requirableSpecs() {
+        return requirableSpecs;
+    }
+}
@@ -43,10 +43,10 @@ class RequiredArgumentOptionSpec<V> extends ArgumentAcceptingOptionSpec<V> {
     }
 
     @Override
-    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
-        if ( !arguments.hasMore() )
-            throw new OptionMissingRequiredArgumentException( this );
-
-        addArguments( detectedOptions, arguments.next() );
+    protected void detectOptionArgument( ParseContext context, ArgumentList arguments, OptionSet detectedOptions ) {
+        if ( arguments.hasMore() )
+            addArguments( detectedOptions, arguments.next() );
+        else
+            context.report( ParseError.missingRequiredArgument( this ) );
     }
 }
@@ -0,0 +1,51 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * <p>A help formatter that can write its help text to a sink piece by piece, rather than producing all of it at once
+ * as a string.</p>
+ *
+ * <p>An {@link OptionParser} prints help with {@link #formatTo(Map, Appendable)} when its formatter is one of these,
+ * so that very long help need not be held in memory in full before it reaches the sink.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public interface StreamingHelpFormatter extends HelpFormatter {
+    /**
+     * Writes help text, given a set of option descriptors, to the given sink. The text written is the same as
+     * {@link #format(Map)} would produce for the same descriptors.
+     *
+     * @param options descriptors for the configured options of a parser
+     * @param sink where to write the help text
+     * @throws IOException if there is a problem writing to the sink
+     * @see OptionParser#printHelpOn(java.io.Writer)
+     */
+    void formatTo( Map<String, ? extends OptionDescriptor> options, Appendable sink ) throws IOException;
+}
@@ -26,7 +26,9 @@
 package joptsimple.internal;
 
 import java.util.Map;
-import java.util.TreeMap;
+
+import static java.lang.System.*;
+import static java.util.Arrays.*;
 
 /**
  * <p>A map whose keys are strings; when a key/value pair is added to the map, the longest unique abbreviations of that
@@ -50,19 +52,21 @@ import java.util.TreeMap;
  * {@code "goo"}, and the value {@code "fish"} using the key {@code "go"}.  The key {@code "g"} would yield
  * {@code null}, since it would no longer be a unique abbreviation.</p>
  *
- * <p>The data structure is much like a "trie".</p>
+ * <p>The data structure is a path-compressed "trie": each edge carries a run of characters rather than a single
+ * one, and each node keeps its outgoing edges in a sorted {@code char} array searched without boxing. Keys are not
+ * stored in the trie; they are spelled by the labels along the path from the root. A hash table of the keys
+ * proper sits in front of the trie, so that looking up a full key never walks it.</p>
  *
  * @param <V> a constraint on the types of the values in the map
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  * @see <a href="http://perldoc.perl.org/Text/Abbrev.html">Perl's Text::Abbrev module</a>
  * @see <a href="https://en.wikipedia.org/wiki/Radix_tree">Radix tree</a>
  */
-public class AbbreviationMap<V> {
-    private final Map<Character, AbbreviationMap<V>> children = new TreeMap<>();
+public class AbbreviationMap<V> implements OptionNameMap<V> {
+    private static final char[] NO_CHARS = new char[ 0 ];
 
-    private String key;
-    private V value;
-    private int keysBeyond;
+    private final ExactNameTable<V> exactKeys = new ExactNameTable<>();
+    private final Node<V> root = new Node<>( NO_CHARS );
 
     /**
      * <p>Tells whether the given key is in the map, or whether the given key is a unique
@@ -72,6 +76,7 @@ public class AbbreviationMap<V> {
      * @return {@code true} if {@code key} is present in the map
      * @throws NullPointerException if {@code key} is {@code null}
      */
+    @Override
     public boolean contains( String aKey ) {
         return get( aKey ) != null;
     }
@@ -85,17 +90,35 @@ public class AbbreviationMap<V> {
      * such value or {@code aKey} is not a unique abbreviation of a key in the map
      * @throws NullPointerException if {@code aKey} is {@code null}
      */
+    @Override
     public V get( String aKey ) {
-        char[] chars = charsOf( aKey );
+        V exact = exactKeys.get( aKey );
+        return exact == null ? abbreviatedValue( aKey, 0, aKey.length() ) : exact;
+    }
+
+    @Override
+    public V get( String source, int start, int end ) {
+        V exact = exactKeys.get( source, start, end );
+        return exact == null ? abbreviatedValue( source, start, end ) : exact;
+    }
 
-        AbbreviationMap<V> child = this;
-        for ( char each : chars ) {
-            child = child.children.get( each );
+    private V abbreviatedValue( String source, int start, int end ) {
+        Node<V> node = root;
+        int offset = start;
+        while ( offset < end ) {
+            Node<V> child = node.childAt( source.charAt( offset ) );
             if ( child == null )
                 return null;
+
+            int matched = child.matchingPrefixLength( source, offset, end );
+            if ( matched < child.label.length )
+                return offset + matched == end && child.keys == 1 ? child.abbreviatedValue() : null;
+
+            offset += matched;
+            node = child;
         }
 
-        return child.value;
+        return node.abbreviatedValue();
     }
 
     /**
@@ -107,14 +130,15 @@ public class AbbreviationMap<V> {
      * @throws NullPointerException if {@code aKey} or {@code newValue} is {@code null}
      * @throws IllegalArgumentException if {@code aKey} is a zero-length string
      */
+    @Override
     public void put( String aKey, V newValue ) {
         if ( newValue == null )
             throw new NullPointerException();
         if ( aKey.length() == 0 )
             throw new IllegalArgumentException();
 
-        char[] chars = charsOf( aKey );
-        add( chars, newValue, 0, chars.length );
+        root.add( aKey, 0, newValue );
+        exactKeys.put( aKey, newValue );
     }
 
     /**
@@ -126,37 +150,12 @@ public class AbbreviationMap<V> {
      * @throws NullPointerException if {@code keys} or {@code newValue} is {@code null}
      * @throws IllegalArgumentException if any of {@code keys} is a zero-length string
      */
+    @Override
     public void putAll( Iterable<String> keys, V newValue ) {
         for ( String each : keys )
             put( each, newValue );
     }
 
-    private boolean add( char[] chars, V newValue, int offset, int length ) {
-        if ( offset == length ) {
-            value = newValue;
-            boolean wasAlreadyAKey = key != null;
-            key = new String( chars );
-            return !wasAlreadyAKey;
-        }
-
-        char nextChar = chars[ offset ];
-        AbbreviationMap<V> child = children.get( nextChar );
-        if ( child == null ) {
-            child = new AbbreviationMap<>();
-            children.put( nextChar, child );
-        }
-
-        boolean newKeyAdded = child.add( chars, newValue, offset + 1, length );
-
-        if ( newKeyAdded )
-            ++keysBeyond;
-
-        if ( key == null )
-            value = keysBeyond > 1 ? null : newValue;
-
-        return newKeyAdded;
-    }
-
     /**
      * <p>If the map contains the given key, dissociates the key from its value.</p>
      *
@@ -164,73 +163,181 @@ public class AbbreviationMap<V> {
      * @throws NullPointerException if {@code aKey} is {@code null}
      * @throws IllegalArgumentException if {@code aKey} is a zero-length string
      */
+    @Override
     public void remove( String aKey ) {
         if ( aKey.length() == 0 )
             throw new IllegalArgumentException();
 
-        char[] keyChars = charsOf( aKey );
-        remove( keyChars, 0, keyChars.length );
+        root.remove( aKey, 0 );
+        exactKeys.remove( aKey );
     }
 
-    private boolean remove( char[] aKey, int offset, int length ) {
-        if ( offset == length )
-            return removeAtEndOfKey();
+    /**
+     * Gives a Java map representation of this abbreviation map.
+     *
+     * @return a Java map corresponding to this abbreviation map
+     */
+    @Override
+    public Map<String, V> toJavaUtilMap() {
+        return exactKeys.toJavaUtilMap();
+    }
 
-        char nextChar = aKey[ offset ];
-        AbbreviationMap<V> child = children.get( nextChar );
-        if ( child == null || !child.remove( aKey, offset + 1, length ) )
-            return false;
+    private static final class Node<V> {
+        @SuppressWarnings( "rawtypes" )
+        private static final Node[] NO_CHILDREN = new Node[ 0 ];
 
-        --keysBeyond;
-        if ( child.keysBeyond == 0 )
-            children.remove( nextChar );
-        if ( keysBeyond == 1 && key == null )
-            setValueToThatOfOnlyChild();
+        private char[] label;
+        private char[] edges = NO_CHARS;
+        @SuppressWarnings( "unchecked" )
+        private Node<V>[] children = NO_CHILDREN;
+        private V value;
+        private int keys;
 
-        return true;
-    }
+        Node( char[] label ) {
+            this.label = label;
+        }
 
-    private void setValueToThatOfOnlyChild() {
-        Map.Entry<Character, AbbreviationMap<V>> entry = children.entrySet().iterator().next();
-        AbbreviationMap<V> onlyChild = entry.getValue();
-        value = onlyChild.value;
-    }
+        Node<V> childAt( char first ) {
+            int index = binarySearch( edges, first );
+            return index < 0 ? null : children[ index ];
+        }
 
-    private boolean removeAtEndOfKey() {
-        if ( key == null )
-            return false;
+        int matchingPrefixLength( String key, int offset, int end ) {
+            int limit = Math.min( label.length, end - offset );
 
-        key = null;
-        if ( keysBeyond == 1 )
-            setValueToThatOfOnlyChild();
-        else
-            value = null;
+            int matched = 0;
+            while ( matched < limit && label[ matched ] == key.charAt( offset + matched ) )
+                ++matched;
 
-        return true;
-    }
+            return matched;
+        }
 
-    /**
-     * Gives a Java map representation of this abbreviation map.
-     *
-     * @return a Java map corresponding to this abbreviation map
-     */
-    public Map<String, V> toJavaUtilMap() {
-        Map<String, V> mappings = new TreeMap<>();
-        addToMappings( mappings );
-        return mappings;
-    }
+        V abbreviatedValue() {
+            if ( value != null || keys != 1 )
+                return value;
 
-    private void addToMappings( Map<String, V> mappings ) {
-        if ( key != null )
-            mappings.put( key, value );
+            Node<V> onlyKey = this;
+            while ( onlyKey.value == null )
+                onlyKey = onlyKey.children[ 0 ];
 
-        for ( AbbreviationMap<V> each : children.values() )
-            each.addToMappings( mappings );
-    }
+            return onlyKey.value;
+        }
+
+        boolean add( String key, int offset, V newValue ) {
+            if ( offset == key.length() ) {
+                boolean newKeyAdded = value == null;
+                value = newValue;
+                if ( newKeyAdded )
+                    ++keys;
+
+                return newKeyAdded;
+            }
+
+            int index = binarySearch( edges, key.charAt( offset ) );
+            if ( index < 0 ) {
+                Node<V> leaf = new Node<>( key.substring( offset ).toCharArray() );
+                leaf.value = newValue;
+                leaf.keys = 1;
+                insertChild( -index - 1, leaf );
+                ++keys;
+
+                return true;
+            }
+
+            Node<V> child = children[ index ];
+            int matched = child.matchingPrefixLength( key, offset, key.length() );
+            if ( matched < child.label.length ) {
+                child = child.splitAt( matched );
+                children[ index ] = child;
+            }
+
+            boolean newKeyAdded = child.add( key, offset + matched, newValue );
+            if ( newKeyAdded )
+                ++keys;
+
+            return newKeyAdded;
+        }
+
+        boolean remove( String key, int offset ) {
+            if ( offset == key.length() ) {
+                if ( value == null )
+                    return false;
+
+                value = null;
+                --keys;
+                return true;
+            }
+
+            int index = binarySearch( edges, key.charAt( offset ) );
+            if ( index < 0 )
+                return false;
+
+            Node<V> child = children[ index ];
+            if ( child.matchingPrefixLength( key, offset, key.length() ) < child.label.length
+                || !child.remove( key, offset + child.label.length ) )
+                return false;
+
+            --keys;
+            if ( child.keys == 0 )
+                removeChild( index );
+            else if ( child.value == null && child.children.length == 1 )
+                children[ index ] = child.mergeWithOnlyChild();
+
+            return true;
+        }
+
+        private Node<V> splitAt( int length ) {
+            Node<V> prefix = new Node<>( copyOf( label, length ) );
+            label = copyOfRange( label, length, label.length );
+            prefix.edges = new char[] { label[ 0 ] };
+            prefix.children = newChildren( 1 );
+            prefix.children[ 0 ] = this;
+            prefix.keys = keys;
 
-    private static char[] charsOf( String aKey ) {
-        char[] chars = new char[ aKey.length() ];
-        aKey.getChars( 0, aKey.length(), chars, 0 );
-        return chars;
+            return prefix;
+        }
+
+        private Node<V> mergeWithOnlyChild() {
+            Node<V> onlyChild = children[ 0 ];
+
+            char[] merged = copyOf( label, label.length + onlyChild.label.length );
+            arraycopy( onlyChild.label, 0, merged, label.length, onlyChild.label.length );
+            onlyChild.label = merged;
+
+            return onlyChild;
+        }
+
+        private void insertChild( int index, Node<V> child ) {
+            char[] newEdges = new char[ edges.length + 1 ];
+            Node<V>[] newChildren = newChildren( children.length + 1 );
+
+            arraycopy( edges, 0, newEdges, 0, index );
+            arraycopy( children, 0, newChildren, 0, index );
+            newEdges[ index ] = child.label[ 0 ];
+            newChildren[ index ] = child;
+            arraycopy( edges, index, newEdges, index + 1, edges.length - index );
+            arraycopy( children, index, newChildren, index + 1, children.length - index );
+
+            edges = newEdges;
+            children = newChildren;
+        }
+
+        private void removeChild( int index ) {
+            char[] newEdges = new char[ edges.length - 1 ];
+            Node<V>[] newChildren = newChildren( children.length - 1 );
+
+            arraycopy( edges, 0, newEdges, 0, index );
+            arraycopy( children, 0, newChildren, 0, index );
+            arraycopy( edges, index + 1, newEdges, index, newEdges.length - index );
+            arraycopy( children, index + 1, newChildren, index, newChildren.length - index );
+
+            edges = newEdges;
+            children = newChildren;
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private static <V> Node<V>[] newChildren( int count ) {
+            return count == 0 ? NO_CHILDREN : (Node<V>[]) new Node<?>[ count ];
+        }
     }
 }
@@ -0,0 +1,165 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+/**
+ * Reads numeric IPv4 and IPv6 address literals, so that they can be turned into addresses without consulting a name
+ * resolver.
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class AddressLiterals {
+    private static final int IPV4_LENGTH = 4;
+    private static final int IPV6_LENGTH = 16;
+
+    private AddressLiterals() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gives the address that the given text spells out, if the text is a dotted-quad IPv4 literal with no
+     * zero-padded parts, or an IPv6 literal without a scope, optionally enclosed in brackets.
+     *
+     * @param text text to read
+     * @return the address in network byte order, or {@code null} if the text is not such a literal
+     */
+    public static byte[] parse( String text ) {
+        if ( text.indexOf( ':' ) == -1 )
+            return ipv4( text, 0, text.length() );
+
+        if ( text.length() > 1 && text.charAt( 0 ) == '[' && text.charAt( text.length() - 1 ) == ']' )
+            return ipv6( text, 1, text.length() - 1 );
+
+        return ipv6( text, 0, text.length() );
+    }
+
+    private static byte[] ipv4( String text, int start, int end ) {
+        byte[] address = new byte[ IPV4_LENGTH ];
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+
+        for ( int i = start; i < end; ++i ) {
+            char ch = text.charAt( i );
+            if ( ch >= '0' && ch <= '9' ) {
+                if ( digits == 1 && value == 0 )
+                    return null;
+
+                value = value * 10 + ch - '0';
+                if ( ++digits > 3 || value > 255 )
+                    return null;
+            } else if ( ch == '.' && digits > 0 && part < IPV4_LENGTH - 1 ) {
+                address[ part++ ] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else
+                return null;
+        }
+
+        if ( digits == 0 || part != IPV4_LENGTH - 1 )
+            return null;
+
+        address[ part ] = (byte) value;
+        return address;
+    }
+
+    private static byte[] ipv6( String text, int start, int end ) {
+        byte[] address = new byte[ IPV6_LENGTH ];
+        int filled = 0;
+        int elided = -1;
+
+        int i = start;
+        if ( text.startsWith( "::", i ) ) {
+            elided = 0;
+            i += 2;
+        }
+
+        while ( i < end ) {
+            int groupEnd = i;
+            while ( groupEnd < end && text.charAt( groupEnd ) != ':' )
+                ++groupEnd;
+
+            if ( groupEnd == end && text.lastIndexOf( '.', end - 1 ) >= i ) {
+                byte[] embedded = filled <= IPV6_LENGTH - IPV4_LENGTH ? ipv4( text, i, end ) : null;
+                if ( embedded == null )
+                    return null;
+
+                System.arraycopy( embedded, 0, address, filled, IPV4_LENGTH );
+                filled += IPV4_LENGTH;
+                break;
+            }
+
+            int group = hexGroup( text, i, groupEnd );
+            if ( group == -1 || filled == IPV6_LENGTH )
+                return null;
+
+            address[ filled++ ] = (byte) ( group >>> 8 );
+            address[ filled++ ] = (byte) group;
+
+            if ( groupEnd == end )
+                break;
+
+            i = groupEnd + 1;
+            if ( i < end && text.charAt( i ) == ':' ) {
+                if ( elided != -1 )
+                    return null;
+
+                elided = filled;
+                ++i;
+            } else if ( i == end )
+                return null;
+        }
+
+        if ( elided == -1 )
+            return filled == IPV6_LENGTH ? address : null;
+        if ( filled == IPV6_LENGTH )
+            return null;
+
+        int moved = filled - elided;
+        System.arraycopy( address, elided, address, IPV6_LENGTH - moved, moved );
+        for ( int j = elided; j < IPV6_LENGTH - moved; ++j )
+            address[ j ] = 0;
+        return address;
+    }
+
+    private static int hexGroup( String text, int start, int end ) {
+        if ( start == end )
+            return -1;
+
+        int value = 0;
+        for ( int i = start; i < end; ++i ) {
+            int digit = Character.digit( text.charAt( i ), 16 );
+            if ( digit == -1 || text.charAt( i ) > 'f' )
+                return -1;
+
+            value = value << 4 | digit;
+            if ( value > 0xFFFF )
+                return -1;
+        }
+
+        return value;
+    }
+}
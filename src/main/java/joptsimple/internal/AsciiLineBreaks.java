@@ -0,0 +1,141 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+/**
+ * The rules by which a {@link java.text.BreakIterator#getLineInstance(java.util.Locale) line break iterator} breaks
+ * common ASCII text, so that such text can be wrapped without one. Where the rules here do not certainly agree with
+ * the break iterator, such as around numbers or non-ASCII characters, they say so, and the break iterator decides.
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+final class AsciiLineBreaks {
+    static final int NO_BREAK = 0;
+    static final int BREAK = 1;
+    static final int UNDECIDED = 2;
+
+    private static final String OPENING = "([{";
+    private static final String CLOSING = "!%),.:;?]}";
+    private static final String SYMBOLS = "#$&'*+/<=>@\\^_`|~";
+
+    private AsciiLineBreaks() {
+        throw new UnsupportedOperationException();
+    }
+
+    static boolean isDecidable( char ch ) {
+        return ch >= ' ' && ch <= '~';
+    }
+
+    /**
+     * Tells whether a line breaks between two adjacent characters.
+     *
+     * @param previous the character before {@code current}, or a space if {@code current} begins the line
+     * @param current the character before the possible break
+     * @param next the character after the possible break
+     * @return {@link #BREAK}, {@link #NO_BREAK}, or {@link #UNDECIDED}
+     */
+    static int between( char previous, char current, char next ) {
+        if ( !isDecidable( current ) || !isDecidable( next ) )
+            return UNDECIDED;
+        if ( next == ' ' )
+            return NO_BREAK;
+        if ( current == ' ' )
+            return BREAK;
+        if ( isWordPart( current ) && isWordPart( next ) )
+            return NO_BREAK;
+
+        if ( OPENING.indexOf( next ) != -1 )
+            return isLetterOrDigit( current ) ? BREAK : OPENING.indexOf( current ) != -1 ? NO_BREAK : UNDECIDED;
+        if ( OPENING.indexOf( current ) != -1 )
+            return isLetterOrDigit( next ) ? NO_BREAK : UNDECIDED;
+
+        if ( current == '-' )
+            return afterHyphen( previous, next );
+        if ( next == '-' )
+            return isLetterOrDigit( current ) ? NO_BREAK : UNDECIDED;
+
+        if ( current == '"' )
+            return afterQuote( previous, next );
+        if ( next == '"' )
+            return isLetterOrDigit( current ) ? NO_BREAK : UNDECIDED;
+
+        if ( CLOSING.indexOf( current ) != -1 )
+            return afterClosing( previous, current, next );
+        if ( CLOSING.indexOf( next ) != -1 )
+            return isLetterOrDigit( current ) ? NO_BREAK : UNDECIDED;
+
+        return UNDECIDED;
+    }
+
+    private static int afterHyphen( char previous, char next ) {
+        if ( next == '-' )
+            return NO_BREAK;
+        if ( isLetter( next ) )
+            return BREAK;
+        // A hyphen before a digit may be a minus sign.
+        if ( isDigit( next ) && isLetterOrDigit( previous ) )
+            return BREAK;
+
+        return UNDECIDED;
+    }
+
+    private static int afterQuote( char previous, char next ) {
+        if ( !isLetterOrDigit( next ) )
+            return UNDECIDED;
+        if ( isLetterOrDigit( previous ) )
+            return BREAK;
+
+        return previous == ' ' ? NO_BREAK : UNDECIDED;
+    }
+
+    private static int afterClosing( char previous, char current, char next ) {
+        if ( isLetter( next ) )
+            return BREAK;
+        // Separators between digits may belong to a number.
+        if ( isDigit( next ) )
+            return ( current == '.' || current == ',' ) && isDigit( previous ) ? UNDECIDED : BREAK;
+        if ( CLOSING.indexOf( next ) != -1 )
+            return NO_BREAK;
+
+        return UNDECIDED;
+    }
+
+    private static boolean isWordPart( char ch ) {
+        return isLetterOrDigit( ch ) || SYMBOLS.indexOf( ch ) != -1;
+    }
+
+    private static boolean isLetterOrDigit( char ch ) {
+        return isLetter( ch ) || isDigit( ch );
+    }
+
+    private static boolean isLetter( char ch ) {
+        return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z';
+    }
+
+    private static boolean isDigit( char ch ) {
+        return ch >= '0' && ch <= '9';
+    }
+}
@@ -26,12 +26,14 @@
 package joptsimple.internal;
 
 import java.text.BreakIterator;
+import java.text.StringCharacterIterator;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 import static java.text.BreakIterator.*;
 
+import static joptsimple.internal.AsciiLineBreaks.*;
 import static joptsimple.internal.Strings.*;
 
 /**
@@ -42,21 +44,21 @@ class Columns {
 
     private final int optionWidth;
     private final int descriptionWidth;
+    private final StringBuilder nextPiece = new StringBuilder();
+
+    private BreakIterator words;
 
     Columns( int optionWidth, int descriptionWidth ) {
         this.optionWidth = optionWidth;
         this.descriptionWidth = descriptionWidth;
     }
 
-    List<Row> fit( Row row ) {
+    void fit( Row row, List<Row> fitted ) {
         List<String> options = piecesOf( row.option, optionWidth );
         List<String> descriptions = piecesOf( row.description, descriptionWidth );
 
-        List<Row> rows = new ArrayList<>();
         for ( int i = 0; i < Math.max( options.size(), descriptions.size() ); ++i )
-            rows.add( new Row( itemOrEmpty( options, i ), itemOrEmpty( descriptions, i ) ) );
-
-        return rows;
+            fitted.add( new Row( itemOrEmpty( options, i ), itemOrEmpty( descriptions, i ) ) );
     }
 
     private static String itemOrEmpty( List<String> items, int index ) {
@@ -66,42 +68,99 @@ class Columns {
     private List<String> piecesOf( String raw, int width ) {
         List<String> pieces = new ArrayList<>();
 
-        for ( String each : raw.trim().split( LINE_SEPARATOR ) )
-            pieces.addAll( piecesOfEmbeddedLine( each, width ) );
+        String text = raw.trim();
+        int lineStart = 0;
+        for ( int lineEnd = text.indexOf( LINE_SEPARATOR ); lineEnd != -1;
+            lineStart = lineEnd + LINE_SEPARATOR.length(), lineEnd = text.indexOf( LINE_SEPARATOR, lineStart ) ) {
+
+            addPiecesOfEmbeddedLine( text, lineStart, lineEnd, width, pieces );
+        }
+        addPiecesOfEmbeddedLine( text, lineStart, text.length(), width, pieces );
 
         return pieces;
     }
 
-    private List<String> piecesOfEmbeddedLine( String line, int width ) {
-        List<String> pieces = new ArrayList<>();
+    private void addPiecesOfEmbeddedLine( String text, int start, int end, int width, List<String> pieces ) {
+        int wrapped = pieces.size();
+
+        if ( !addPiecesOfAsciiLine( text, start, end, width, pieces ) ) {
+            pieces.subList( wrapped, pieces.size() ).clear();
+            addPiecesOfAnyLine( text, start, end, width, pieces );
+        }
+    }
+
+    /*
+     * Wraps a line in a single pass over its characters, giving up if it finds any that only a break iterator can
+     * place breaks around.
+     */
+    private boolean addPiecesOfAsciiLine( String text, int start, int end, int width, List<String> pieces ) {
+        nextPiece.setLength( 0 );
+        if ( start == end )
+            return true;
+        if ( !isDecidable( text.charAt( start ) ) )
+            return false;
+
+        int wordStart = start;
+        char previous = ' ';
+        for ( int i = start; i < end - 1; ++i ) {
+            char current = text.charAt( i );
+            switch ( between( previous, current, text.charAt( i + 1 ) ) ) {
+                case BREAK:
+                    processNextWord( text, wordStart, i + 1, width, pieces );
+                    wordStart = i + 1;
+                    break;
+                case UNDECIDED:
+                    return false;
+                default:
+                    break;
+            }
+            previous = current;
+        }
+        processNextWord( text, wordStart, end, width, pieces );
+
+        addLastPiece( pieces );
+        return true;
+    }
+
+    private void addPiecesOfAnyLine( String text, int start, int end, int width, List<String> pieces ) {
+        if ( words == null )
+            words = BreakIterator.getLineInstance( Locale.US );
+        words.setText( new StringCharacterIterator( text, start, end, start ) );
+
+        nextPiece.setLength( 0 );
 
-        BreakIterator words = BreakIterator.getLineInstance( Locale.US );
-        words.setText( line );
+        int wordStart = words.first();
+        for ( int wordEnd = words.next(); wordEnd != DONE; wordStart = wordEnd, wordEnd = words.next() )
+            processNextWord( text, wordStart, wordEnd, width, pieces );
 
-        StringBuilder nextPiece = new StringBuilder();
+        addLastPiece( pieces );
+    }
 
-        int start = words.first();
-        for ( int end = words.next(); end != DONE; start = end, end = words.next() )
-            nextPiece = processNextWord( line, nextPiece, start, end, width, pieces );
+    private void processNextWord( String source, int start, int end, int width, List<String> pieces ) {
+        if ( nextPiece.length() + end - start > width ) {
+            pieces.add( withoutTrailingWhitespace( nextPiece ) );
+            nextPiece.setLength( 0 );
+            for ( int i = 0; i < INDENT_WIDTH; ++i )
+                nextPiece.append( ' ' );
+        }
 
+        nextPiece.append( source, start, end );
+    }
+
+    private void addLastPiece( List<String> pieces ) {
         if ( nextPiece.length() > 0 )
             pieces.add( nextPiece.toString() );
-
-        return pieces;
     }
 
-    private StringBuilder processNextWord( String source, StringBuilder nextPiece, int start, int end, int width,
-                                           List<String> pieces ) {
-        StringBuilder augmented = nextPiece;
+    private static String withoutTrailingWhitespace( StringBuilder piece ) {
+        int end = piece.length();
+        while ( end > 0 && isRegexWhitespace( piece.charAt( end - 1 ) ) )
+            --end;
 
-        String word = source.substring( start, end );
-        if ( augmented.length() + word.length() > width ) {
-            pieces.add( augmented.toString().replaceAll( "\\s+$", "" ) );
-            augmented = new StringBuilder( repeat( ' ', INDENT_WIDTH ) ).append( word );
-        }
-        else
-            augmented.append( word );
+        return piece.substring( 0, end );
+    }
 
-        return augmented;
+    private static boolean isRegexWhitespace( char ch ) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
     }
 }
@@ -25,32 +25,29 @@
 
 package joptsimple.internal;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 
-import joptsimple.ValueConverter;
-
 import static joptsimple.internal.Reflection.*;
 
 /**
  * @param <V> constraint on the type of values being converted to
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
-class ConstructorInvokingValueConverter<V> implements ValueConverter<V> {
+class ConstructorInvokingValueConverter<V> extends InvokingValueConverter<V> {
     private final Constructor<V> ctor;
+    private final MethodHandle handle;
 
     ConstructorInvokingValueConverter( Constructor<V> ctor ) {
         this.ctor = ctor;
+        this.handle = stringConversionHandleFor( ctor );
     }
 
     public V convert( String value ) {
-        return instantiate( ctor, value );
+        return handle == null ? instantiate( ctor, value ) : valueType().cast( invoke( handle, value ) );
     }
 
     public Class<V> valueType() {
         return ctor.getDeclaringClass();
     }
-
-    public String valuePattern() {
-        return null;
-    }
 }
@@ -0,0 +1,147 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import joptsimple.ValueConverter;
+
+import static joptsimple.internal.Classes.*;
+
+/**
+ * <p>Gives the value converter for a value type, resolving it once per type.</p>
+ *
+ * <p>Common JDK value types have converters that call their parsing methods directly. Any other type gets a
+ * converter {@linkplain Reflection#findConverter(Class) found reflectively}, which invokes the type's
+ * {@code valueOf(String)} method or {@code String} constructor through a method handle.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class ConverterRegistry {
+    private static final Map<Class<?>, ValueConverter<?>> BUILTIN = new HashMap<>();
+
+    static {
+        builtin( new ParsingValueConverter.Integral<Long>( Long.class, Long.MIN_VALUE, Long.MAX_VALUE ) {
+            @Override
+            Long parse( String value ) {
+                return Long.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter.Integral<Integer>( Integer.class, Integer.MIN_VALUE, Integer.MAX_VALUE ) {
+            @Override
+            Integer parse( String value ) {
+                return Integer.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter.Integral<Short>( Short.class, Short.MIN_VALUE, Short.MAX_VALUE ) {
+            @Override
+            Short parse( String value ) {
+                return Short.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter.Integral<Byte>( Byte.class, Byte.MIN_VALUE, Byte.MAX_VALUE ) {
+            @Override
+            Byte parse( String value ) {
+                return Byte.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<Double>( Double.class ) {
+            @Override
+            Double parse( String value ) {
+                return Double.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<Float>( Float.class ) {
+            @Override
+            Float parse( String value ) {
+                return Float.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<Boolean>( Boolean.class ) {
+            @Override
+            Boolean parse( String value ) {
+                return Boolean.valueOf( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<BigInteger>( BigInteger.class ) {
+            @Override
+            BigInteger parse( String value ) {
+                return new BigInteger( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<BigDecimal>( BigDecimal.class ) {
+            @Override
+            BigDecimal parse( String value ) {
+                return new BigDecimal( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<UUID>( UUID.class ) {
+            @Override
+            UUID parse( String value ) {
+                return UUID.fromString( value );
+            }
+        } );
+        builtin( new ParsingValueConverter<String>( String.class ) {
+            @Override
+            String parse( String value ) {
+                return value;
+            }
+        } );
+    }
+
+    private static final ClassValue<ValueConverter<?>> RESOLVED = new ClassValue<ValueConverter<?>>() {
+        @Override
+        protected ValueConverter<?> computeValue( Class<?> type ) {
+            ValueConverter<?> builtin = BUILTIN.get( wrapperOf( type ) );
+            return builtin == null ? Reflection.findConverter( type ) : builtin;
+        }
+    };
+
+    private ConverterRegistry() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gives the value converter for the given class.
+     *
+     * @param <V> a constraint on the class object to find a converter for
+     * @param clazz class to find a converter for
+     * @return a converter for values of the class
+     * @throws IllegalArgumentException if the class is not a value type
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <V> ValueConverter<V> converterFor( Class<V> clazz ) {
+        return (ValueConverter<V>) RESOLVED.get( clazz );
+    }
+
+    private static void builtin( ValueConverter<?> converter ) {
+        BUILTIN.put( converter.valueType(), converter );
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>An open-addressing hash table keyed by strings, which can be searched using a range of the characters of some
+ * larger string without first extracting that range into a string of its own.</p>
+ *
+ * @param <V> a constraint on the types of the values in the table
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+final class ExactNameTable<V> {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] keys = new String[ INITIAL_CAPACITY ];
+    private Object[] values = new Object[ INITIAL_CAPACITY ];
+    private int size;
+
+    V get( String key ) {
+        int slot = slotOf( key, 0, key.length(), key.hashCode() );
+        return slot < 0 ? null : valueAt( slot );
+    }
+
+    V get( String source, int start, int end ) {
+        int hash = 0;
+        for ( int i = start; i < end; ++i )
+            hash = 31 * hash + source.charAt( i );
+
+        int slot = slotOf( source, start, end, hash );
+        return slot < 0 ? null : valueAt( slot );
+    }
+
+    void put( String key, V value ) {
+        int slot = slotOf( key, 0, key.length(), key.hashCode() );
+        if ( slot >= 0 ) {
+            values[ slot ] = value;
+            return;
+        }
+
+        if ( 2 * ( size + 1 ) > keys.length )
+            resize( 2 * keys.length );
+        insert( key, value );
+    }
+
+    void remove( String key ) {
+        int slot = slotOf( key, 0, key.length(), key.hashCode() );
+        if ( slot < 0 )
+            return;
+
+        keys[ slot ] = null;
+        values[ slot ] = null;
+        --size;
+
+        for ( int next = nextSlot( slot ); keys[ next ] != null; next = nextSlot( next ) ) {
+            String displacedKey = keys[ next ];
+            Object displacedValue = values[ next ];
+            keys[ next ] = null;
+            values[ next ] = null;
+            --size;
+            insert( displacedKey, displacedValue );
+        }
+    }
+
+    Map<String, V> toJavaUtilMap() {
+        Map<String, V> mappings = new TreeMap<>();
+        for ( int i = 0; i < keys.length; ++i ) {
+            if ( keys[ i ] != null )
+                mappings.put( keys[ i ], valueAt( i ) );
+        }
+
+        return mappings;
+    }
+
+    private int slotOf( String source, int start, int end, int hash ) {
+        int length = end - start;
+
+        for ( int slot = firstSlot( hash ); keys[ slot ] != null; slot = nextSlot( slot ) ) {
+            String candidate = keys[ slot ];
+            if ( candidate.length() == length && candidate.regionMatches( 0, source, start, length ) )
+                return slot;
+        }
+
+        return -1;
+    }
+
+    private void insert( String key, Object value ) {
+        int slot = firstSlot( key.hashCode() );
+        while ( keys[ slot ] != null )
+            slot = nextSlot( slot );
+
+        keys[ slot ] = key;
+        values[ slot ] = value;
+        ++size;
+    }
+
+    private void resize( int capacity ) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new String[ capacity ];
+        values = new Object[ capacity ];
+        size = 0;
+
+        for ( int i = 0; i < oldKeys.length; ++i ) {
+            if ( oldKeys[ i ] != null )
+                insert( oldKeys[ i ], oldValues[ i ] );
+        }
+    }
+
+    private int firstSlot( int hash ) {
+        return ( hash ^ ( hash >>> 16 ) ) & ( keys.length - 1 );
+    }
+
+    private int nextSlot( int slot ) {
+        return ( slot + 1 ) & ( keys.length - 1 );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private V valueAt( int slot ) {
+        return (V) values[ slot ];
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Waits for the results of tasks run on behalf of converters, without burdening callers with checked exceptions.
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class Futures {
+    private Futures() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Waits for the given task to complete, and gives its result.
+     *
+     * @param <T> type of the task's result
+     * @param task the task to wait for
+     * @return the task's result
+     * @throws IllegalStateException if the calling thread is interrupted while waiting, in which case its interrupt
+     * status is set again; or if the task failed with a checked exception or an error
+     * @throws RuntimeException the unchecked exception that the task failed with, if any
+     */
+    public static <T> T await( Future<T> task ) {
+        try {
+            return task.get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( e );
+        } catch ( ExecutionException e ) {
+            if ( e.getCause() instanceof RuntimeException )
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+}
@@ -26,22 +26,84 @@
 package joptsimple.internal;
 
 import java.text.MessageFormat;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 public class Messages {
+    private static final int MAXIMUM_CACHED_TEMPLATES = 512;
+    private static final ConcurrentMap<TemplateKey, MessageFormat> TEMPLATES = new ConcurrentHashMap<>();
+
     private Messages() {
         throw new UnsupportedOperationException();
     }
 
+    /*
+     * Compiled templates are kept per locale, bundle and message key; the key names the class, so that the cache
+     * holds on to no class, nor its loader. MessageFormat is not safe for concurrent use, so each message is
+     * formatted by a copy of its cached template. Should the cache fill, it makes room one template at a time,
+     * rather than growing with every locale asked for.
+     */
     public static String message( Locale locale, String bundleName, Class<?> type, String key, Object... args ) {
-        ResourceBundle bundle = ResourceBundle.getBundle( bundleName, locale );
-        String template = bundle.getString( type.getName() + '.' + key );
+        TemplateKey templateKey = new TemplateKey( locale, bundleName, type.getName() + '.' + key );
+
+        MessageFormat template = TEMPLATES.get( templateKey );
+        if ( template == null ) {
+            template = compile( templateKey );
+            if ( TEMPLATES.size() >= MAXIMUM_CACHED_TEMPLATES )
+                evictOneTemplate();
+            TEMPLATES.putIfAbsent( templateKey, template );
+        }
+
+        return ( (MessageFormat) template.clone() ).format( args );
+    }
+
+    private static void evictOneTemplate() {
+        Iterator<TemplateKey> keys = TEMPLATES.keySet().iterator();
+        if ( keys.hasNext() ) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static MessageFormat compile( TemplateKey key ) {
+        ResourceBundle bundle = ResourceBundle.getBundle( key.bundleName, key.locale );
+        String template = bundle.getString( key.messageKey );
         MessageFormat format = new MessageFormat( template );
-        format.setLocale( locale );
-        return format.format( args );
+        format.setLocale( key.locale );
+        return format;
+    }
+
+    private static final class TemplateKey {
+        final Locale locale;
+        final String bundleName;
+        final String messageKey;
+
+        TemplateKey( Locale locale, String bundleName, String messageKey ) {
+            this.locale = locale;
+            this.bundleName = bundleName;
+            this.messageKey = messageKey;
+        }
+
+        @Override
+        public boolean equals( Object that ) {
+            if ( !( that instanceof TemplateKey ) )
+                return false;
+
+            TemplateKey other = (TemplateKey) that;
+            return messageKey.equals( other.messageKey )
+                && bundleName.equals( other.bundleName )
+                && locale.equals( other.locale );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( messageKey.hashCode() * 31 + bundleName.hashCode() ) * 31 + locale.hashCode();
+        }
     }
 }
@@ -25,34 +25,31 @@
 
 package joptsimple.internal;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
-import joptsimple.ValueConverter;
-
 import static joptsimple.internal.Reflection.*;
 
 /**
  * @param <V> constraint on the type of values being converted to
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
-class MethodInvokingValueConverter<V> implements ValueConverter<V> {
+class MethodInvokingValueConverter<V> extends InvokingValueConverter<V> {
     private final Method method;
+    private final MethodHandle handle;
     private final Class<V> clazz;
 
     MethodInvokingValueConverter( Method method, Class<V> clazz ) {
         this.method = method;
+        this.handle = stringConversionHandleFor( method );
         this.clazz = clazz;
     }
 
     public V convert( String value ) {
-        return clazz.cast( invoke( method, value ) );
+        return clazz.cast( handle == null ? invoke( method, value ) : invoke( handle, value ) );
     }
 
     public Class<V> valueType() {
         return clazz;
     }
-
-    public String valuePattern() {
-        return null;
-    }
 }
@@ -0,0 +1,106 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public final class Numbers {
+    private static final long INVALID = 1;
+
+    private Numbers() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Parses a range of the characters of a string as a signed decimal integer, as {@link Long#parseLong(String)}
+     * would parse that range, without extracting the range into a string of its own.
+     *
+     * @param source string containing the number
+     * @param start index of the first character of the number
+     * @param end index after the last character of the number
+     * @param min the least acceptable value
+     * @param max the greatest acceptable value
+     * @return the number
+     * @throws NumberFormatException if the range does not hold a number between {@code min} and {@code max}
+     */
+    public static long parseLong( String source, int start, int end, long min, long max ) {
+        long magnitude = negativeMagnitudeOf( source, start, end, min, max );
+        if ( magnitude == INVALID )
+            throw new NumberFormatException();
+
+        return source.charAt( start ) == '-' ? magnitude : -magnitude;
+    }
+
+    /**
+     * Tells whether {@link #parseLong(String, int, int, long, long) parseLong} would succeed on the given range of
+     * the characters of a string, without raising an exception when it would not.
+     *
+     * @param source string containing the number
+     * @param start index of the first character of the number
+     * @param end index after the last character of the number
+     * @param min the least acceptable value
+     * @param max the greatest acceptable value
+     * @return whether the range holds a number between {@code min} and {@code max}
+     */
+    public static boolean isLong( String source, int start, int end, long min, long max ) {
+        return negativeMagnitudeOf( source, start, end, min, max ) != INVALID;
+    }
+
+    /*
+     * Accumulates negatively, since the least value has no positive counterpart.  No magnitude is positive, so a
+     * positive result can mark a range that holds no acceptable number.
+     */
+    private static long negativeMagnitudeOf( String source, int start, int end, long min, long max ) {
+        if ( start >= end )
+            return INVALID;
+
+        int index = start;
+        boolean negative = false;
+        char first = source.charAt( index );
+        if ( first == '-' || first == '+' ) {
+            negative = first == '-';
+            if ( ++index == end )
+                return INVALID;
+        }
+
+        long limit = negative ? min : -max;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        for ( ; index < end; ++index ) {
+            int digit = Character.digit( source.charAt( index ), 10 );
+            if ( digit < 0 || result < multiplicationLimit )
+                return INVALID;
+
+            result *= 10;
+            if ( result < limit + digit )
+                return INVALID;
+            result -= digit;
+        }
+
+        return result;
+    }
+}
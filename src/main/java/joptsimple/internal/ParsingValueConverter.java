@@ -0,0 +1,91 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import joptsimple.ProbingValueConverter;
+
+/**
+ * A converter that parses values by calling straight into the value type's own parsing method, rather than finding
+ * that method reflectively. It fails as the reflective converters do, so that the two can stand in for each other.
+ *
+ * @param <V> constraint on the type of values being converted to
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+abstract class ParsingValueConverter<V> implements ProbingValueConverter<V> {
+    private final Class<V> type;
+
+    ParsingValueConverter( Class<V> type ) {
+        this.type = type;
+    }
+
+    public final V convert( String value ) {
+        try {
+            return parse( value );
+        } catch ( RuntimeException ex ) {
+            throw new ReflectionException( ex );
+        }
+    }
+
+    public V tryConvert( String value ) {
+        try {
+            return parse( value );
+        } catch ( RuntimeException ignored ) {
+            return null;
+        }
+    }
+
+    public final Class<V> valueType() {
+        return type;
+    }
+
+    public final String valuePattern() {
+        return null;
+    }
+
+    abstract V parse( String value );
+
+    /**
+     * Parses integral values, vetting them first when probing so that values out of range raise no exception.
+     *
+     * @param <V> constraint on the type of values being converted to
+     */
+    abstract static class Integral<V> extends ParsingValueConverter<V> {
+        private final long min;
+        private final long max;
+
+        Integral( Class<V> type, long min, long max ) {
+            super( type );
+
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public V tryConvert( String value ) {
+            return Numbers.isLong( value, 0, value.length(), min, max ) ? parse( value ) : null;
+        }
+    }
+}
@@ -25,6 +25,9 @@
 
 package joptsimple.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -119,6 +122,49 @@ public final class Reflection {
         }
     }
 
+    /**
+     * Invokes the given method handle, which takes a string and gives an object, with the given string.
+     *
+     * @param handle method handle to invoke
+     * @param value string to hand to the method handle
+     * @return the result of invoking the method handle
+     * @throws ReflectionException in lieu of anything raised by the method handle, just as
+     * {@link #invoke(Method, Object...)} reports what the method raises
+     */
+    public static Object invoke( MethodHandle handle, String value ) {
+        try {
+            return (Object) handle.invokeExact( value );
+        } catch ( ReflectionException ex ) {
+            throw ex;
+        } catch ( Throwable ex ) {
+            throw new ReflectionException( ex );
+        }
+    }
+
+    /*
+     * Members that this library may not invoke directly get no handle, and are left to reflective invocation, which
+     * reports the denied access as conversion goes along.
+     */
+    static MethodHandle stringConversionHandleFor( Method method ) {
+        try {
+            return asStringConversion( MethodHandles.publicLookup().unreflect( method ) );
+        } catch ( IllegalAccessException ignored ) {
+            return null;
+        }
+    }
+
+    static MethodHandle stringConversionHandleFor( Constructor<?> constructor ) {
+        try {
+            return asStringConversion( MethodHandles.publicLookup().unreflectConstructor( constructor ) );
+        } catch ( IllegalAccessException ignored ) {
+            return null;
+        }
+    }
+
+    private static MethodHandle asStringConversion( MethodHandle handle ) {
+        return handle.asType( MethodType.methodType( Object.class, String.class ) );
+    }
+
     @SuppressWarnings( "unchecked" )
     public static <V> V convertWith( ValueConverter<V> converter, String raw ) {
         return converter == null ? (V) raw : converter.convert( raw );
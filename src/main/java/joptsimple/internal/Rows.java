@@ -25,6 +25,7 @@
 
 package joptsimple.internal;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -67,9 +68,9 @@ public class Rows {
     public void fitToWidth() {
         Columns columns = new Columns( optionWidth(), descriptionWidth() );
 
-        List<Row> fitted = new ArrayList<>();
+        List<Row> fitted = new ArrayList<>( rows.size() );
         for ( Row each : rows )
-            fitted.addAll( columns.fit( each ) );
+            columns.fit( each, fitted );
 
         reset();
 
@@ -77,17 +78,41 @@ public class Rows {
             add( each );
     }
 
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
     public String render() {
-        StringBuilder buffer = new StringBuilder();
+        StringBuilder buffer = new StringBuilder( rows.size() * rowWidth() );
 
-        for ( Row each : rows ) {
-            pad( buffer, each.option, optionWidth() ).append( repeat( ' ', columnSeparatorWidth ) );
-            pad( buffer, each.description, descriptionWidth() ).append( LINE_SEPARATOR );
+        try {
+            renderTo( buffer );
+        } catch ( IOException ex ) {
+            throw new AssertionError( ex );
         }
 
         return buffer.toString();
     }
 
+    public void renderTo( Appendable sink ) throws IOException {
+        int optionWidth = optionWidth();
+        int descriptionWidth = descriptionWidth();
+
+        StringBuilder line = new StringBuilder( rowWidth() );
+
+        for ( Row each : rows ) {
+            line.setLength( 0 );
+            pad( line, each.option, optionWidth );
+            spaces( line, columnSeparatorWidth );
+            pad( line, each.description, descriptionWidth ).append( LINE_SEPARATOR );
+            sink.append( line );
+        }
+    }
+
+    private int rowWidth() {
+        return optionWidth() + columnSeparatorWidth + descriptionWidth() + LINE_SEPARATOR.length();
+    }
+
     private int optionWidth() {
         return min( ( overallWidth - columnSeparatorWidth ) / 2, widthOfWidestOption );
     }
@@ -96,8 +121,13 @@ public class Rows {
         return min( ( overallWidth - columnSeparatorWidth ) / 2, widthOfWidestDescription );
     }
 
-    private StringBuilder pad( StringBuilder buffer, String s, int length ) {
-        buffer.append( s ).append( repeat( ' ', length - s.length() ) );
+    private static StringBuilder pad( StringBuilder buffer, String s, int length ) {
+        return spaces( buffer.append( s ), length - s.length() );
+    }
+
+    private static StringBuilder spaces( StringBuilder buffer, int count ) {
+        for ( int i = 0; i < count; ++i )
+            buffer.append( ' ' );
         return buffer;
     }
 }
@@ -28,23 +28,39 @@ package joptsimple.util;
 import java.text.DateFormat;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Locale;
 
+import joptsimple.ProbingValueConverter;
 import joptsimple.ValueConversionException;
-import joptsimple.ValueConverter;
 import joptsimple.internal.Messages;
 
 /**
- * Converts values to {@link Date}s using a {@link DateFormat} object.
+ * <p>Converts values to {@link Date}s using a {@link DateFormat} object.</p>
+ *
+ * <p>A converter may be shared among threads. A {@link SimpleDateFormat} is copied when the converter is created,
+ * and each thread parses with its own copy of that; changes made to the formatter afterwards go unseen by the
+ * converter. Other kinds of {@link DateFormat} are used one thread at a time.</p>
+ *
+ * <p>A non-lenient {@code "yyyy-MM-dd"} formatter with a Gregorian calendar converts ISO-8601 dates without going
+ * through the formatter's parser, giving the dates that the parser would.</p>
  *
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
-public class DateConverter implements ValueConverter<Date> {
+public class DateConverter implements ProbingValueConverter<Date> {
+    private static final String ISO_DATE_PATTERN = "yyyy-MM-dd";
+
     private final DateFormat formatter;
+    private final boolean isoDates;
+    private final ThreadLocal<DateFormat> copies = new ThreadLocal<>();
 
     /**
-     * Creates a converter that uses the given date formatter/parser.
+     * <p>Creates a converter that uses the given date formatter/parser.</p>
+     *
+     * <p>A {@link SimpleDateFormat} is copied as it stands when the converter is created; changes made to it
+     * afterwards, such as a new pattern or leniency, do not affect the converter.</p>
      *
      * @param formatter the formatter/parser to use
      * @throws NullPointerException if {@code formatter} is {@code null}
@@ -53,7 +69,11 @@ public class DateConverter implements ValueConverter<Date> {
         if ( formatter == null )
             throw new NullPointerException( "illegal null formatter" );
 
-        this.formatter = formatter;
+        this.formatter = formatter instanceof SimpleDateFormat ? (DateFormat) formatter.clone() : formatter;
+        this.isoDates = this.formatter instanceof SimpleDateFormat
+            && ISO_DATE_PATTERN.equals( ( (SimpleDateFormat) this.formatter ).toPattern() )
+            && !this.formatter.isLenient()
+            && this.formatter.getCalendar().getClass() == GregorianCalendar.class;
     }
 
     /**
@@ -73,15 +93,29 @@ public class DateConverter implements ValueConverter<Date> {
     }
 
     public Date convert( String value ) {
-        ParsePosition position = new ParsePosition( 0 );
-
-        Date date = formatter.parse( value, position );
-        if ( position.getIndex() != value.length() )
+        Date date = tryConvert( value );
+        if ( date == null )
             throw new ValueConversionException( message( value ) );
 
         return date;
     }
 
+    public Date tryConvert( String value ) {
+        if ( !( formatter instanceof SimpleDateFormat ) ) {
+            synchronized ( formatter ) {
+                return parse( formatter, value );
+            }
+        }
+
+        DateFormat copy = copies.get();
+        if ( copy == null ) {
+            copy = (DateFormat) formatter.clone();
+            copies.set( copy );
+        }
+
+        return isoDates && isIsoDate( value ) ? isoDate( copy.getCalendar(), value ) : parse( copy, value );
+    }
+
     public Class<Date> valueType() {
         return Date.class;
     }
@@ -92,6 +126,49 @@ public class DateConverter implements ValueConverter<Date> {
             : "";
     }
 
+    private static Date parse( DateFormat format, String value ) {
+        ParsePosition position = new ParsePosition( 0 );
+
+        Date date = format.parse( value, position );
+        return position.getIndex() == value.length() ? date : null;
+    }
+
+    private static boolean isIsoDate( String value ) {
+        if ( value.length() != ISO_DATE_PATTERN.length() )
+            return false;
+
+        for ( int i = 0; i < value.length(); ++i ) {
+            char ch = value.charAt( i );
+            boolean matches = ISO_DATE_PATTERN.charAt( i ) == '-' ? ch == '-' : ch >= '0' && ch <= '9';
+            if ( !matches )
+                return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Sets the fields as the formatter's parser would, on a calendar of the same kind and settings, so that its
+     * non-lenient checks reject the same dates.
+     */
+    private static Date isoDate( Calendar calendar, String value ) {
+        calendar.clear();
+        calendar.set( digits( value, 0, 4 ), digits( value, 5, 7 ) - 1, digits( value, 8, 10 ) );
+
+        try {
+            return calendar.getTime();
+        } catch ( IllegalArgumentException invalid ) {
+            return null;
+        }
+    }
+
+    private static int digits( String value, int start, int end ) {
+        int result = 0;
+        for ( int i = start; i < end; ++i )
+            result = result * 10 + value.charAt( i ) - '0';
+        return result;
+    }
+
     private String message( String value ) {
         String key;
         Object[] arguments;
@@ -25,23 +25,36 @@
 
 package joptsimple.util;
 
-import java.text.MessageFormat;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.ResourceBundle;
+import java.util.Locale;
+import java.util.Set;
 
+import joptsimple.ProbingValueConverter;
 import joptsimple.ValueConversionException;
-import joptsimple.ValueConverter;
+import joptsimple.internal.AbbreviationMap;
+import joptsimple.internal.Messages;
+import joptsimple.internal.OptionNameMap;
+import joptsimple.internal.SimpleOptionNameMap;
 
 /**
- * Converts values to {@link java.lang.Enum}s.
+ * <p>Converts values to {@link java.lang.Enum}s.</p>
+ *
+ * <p>A value converts to the constant of the same {@linkplain Enum#name() name}. A converter can also be made to
+ * match names {@linkplain Matching#IGNORING_CASE regardless of case}, or {@linkplain Matching#BY_UNIQUE_PREFIX by
+ * unique prefix}. The converter builds its tables of names when it first converts a value.</p>
  *
  * @author <a href="mailto:christian.ohr@gmail.com">Christian Ohr</a>
  */
-public abstract class EnumConverter<E extends Enum<E>> implements ValueConverter<E> {
+public abstract class EnumConverter<E extends Enum<E>> implements ProbingValueConverter<E> {
     private final Class<E> clazz;
+    private final boolean ignoringCase;
+    private final boolean byUniquePrefix;
 
     private String delimiters = "[,]";
+    private volatile String valuePattern;
+    private volatile Names<E> names;
 
     /**
      * This constructor must be called by subclasses, providing the enum class as the parameter.
@@ -49,16 +62,44 @@ public abstract class EnumConverter<E extends Enum<E>> implements ValueConverter
      * @param clazz enum class
      */
     protected EnumConverter( Class<E> clazz ) {
+        this( clazz, new Matching[ 0 ] );
+    }
+
+    /**
+     * This constructor may be called by subclasses instead, providing the enum class and the ways in which values may
+     * match constants' names other than exactly.
+     *
+     * @param clazz enum class
+     * @param matching ways of matching values to names
+     */
+    protected EnumConverter( Class<E> clazz, Matching... matching ) {
         this.clazz = clazz;
+
+        EnumSet<Matching> ways = EnumSet.noneOf( Matching.class );
+        for ( Matching each : matching )
+            ways.add( each );
+        ignoringCase = ways.contains( Matching.IGNORING_CASE );
+        byUniquePrefix = ways.contains( Matching.BY_UNIQUE_PREFIX );
     }
 
     @Override
     public E convert( String value ) {
-        try {
-            return Enum.valueOf( valueType(), value );
-        } catch ( IllegalArgumentException e ) {
-            throw new ValueConversionException( message( value ), e );
+        E constant = tryConvert( value );
+        if ( constant == null )
+            throw new ValueConversionException( message( value ) );
+
+        return constant;
+    }
+
+    @Override
+    public E tryConvert( String value ) {
+        Names<E> known = names;
+        if ( known == null ) {
+            known = new Names<>( valueType().getEnumConstants(), ignoringCase, byUniquePrefix );
+            names = known;
         }
+
+        return known.constantFor( value );
     }
 
     @Override
@@ -75,10 +116,21 @@ public abstract class EnumConverter<E extends Enum<E>> implements ValueConverter
      */
     public void setDelimiters( String delimiters ) {
         this.delimiters = delimiters;
+        valuePattern = null;
     }
 
     @Override
     public String valuePattern() {
+        String pattern = valuePattern;
+        if ( pattern == null ) {
+            pattern = patternOf( delimiters );
+            valuePattern = pattern;
+        }
+
+        return pattern;
+    }
+
+    private String patternOf( String delimiters ) {
         EnumSet<E> values = EnumSet.allOf( valueType() );
 
         StringBuilder builder = new StringBuilder();
@@ -94,9 +146,71 @@ public abstract class EnumConverter<E extends Enum<E>> implements ValueConverter
     }
 
     private String message( String value ) {
-        ResourceBundle bundle = ResourceBundle.getBundle( "joptsimple.ExceptionMessages" );
-        Object[] arguments = new Object[] { value, valuePattern() };
-        String template = bundle.getString( EnumConverter.class.getName() + ".message" );
-        return new MessageFormat( template ).format( arguments );
+        return Messages.message(
+            Locale.getDefault(),
+            "joptsimple.ExceptionMessages",
+            EnumConverter.class,
+            "message",
+            value,
+            valuePattern() );
+    }
+
+    /**
+     * Ways in which values may match the names of enum constants other than exactly.
+     */
+    public enum Matching {
+        /**
+         * A value matches a name that it equals without regard to case, unless it so equals more than one name.
+         */
+        IGNORING_CASE,
+
+        /**
+         * A value matches a name that it is a prefix of, if it is a prefix of no other name.
+         */
+        BY_UNIQUE_PREFIX
+    }
+
+    /*
+     * Exact names are looked up first, so that every constant can be had by its name even when case-folding or
+     * prefixes make other names ambiguous.
+     */
+    private static final class Names<E> {
+        private final OptionNameMap<E> exact = new SimpleOptionNameMap<>();
+        private final OptionNameMap<E> loose;
+        private final boolean ignoringCase;
+
+        Names( E[] constants, boolean ignoringCase, boolean byUniquePrefix ) {
+            this.ignoringCase = ignoringCase;
+            loose = byUniquePrefix
+                ? new AbbreviationMap<E>()
+                : ignoringCase ? new SimpleOptionNameMap<E>() : null;
+
+            Set<String> keys = new HashSet<>();
+            Set<String> ambiguous = new HashSet<>();
+            for ( E each : constants ) {
+                String name = ( (Enum<?>) each ).name();
+                exact.put( name, each );
+
+                if ( loose != null ) {
+                    String key = fold( name );
+                    if ( keys.add( key ) )
+                        loose.put( key, each );
+                    else if ( ambiguous.add( key ) )
+                        loose.remove( key );
+                }
+            }
+        }
+
+        E constantFor( String value ) {
+            E constant = exact.get( value );
+            if ( constant != null || loose == null || value.isEmpty() )
+                return constant;
+
+            return loose.get( fold( value ) );
+        }
+
+        private String fold( String name ) {
+            return ignoringCase ? name.toLowerCase( Locale.ROOT ) : name;
+        }
     }
 }
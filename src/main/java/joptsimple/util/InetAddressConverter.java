@@ -27,25 +27,135 @@ package joptsimple.util;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
+import joptsimple.ProbingValueConverter;
 import joptsimple.ValueConversionException;
-import joptsimple.ValueConverter;
+import joptsimple.internal.AddressLiterals;
 import joptsimple.internal.Messages;
 
+import static joptsimple.internal.Futures.*;
+
 /**
- * Converts values to {@link java.net.InetAddress} using {@link InetAddress#getByName(String) getByName}.
+ * <p>Converts values to {@link java.net.InetAddress}.</p>
+ *
+ * <p>Numeric IPv4 and IPv6 literals are converted without consulting any name resolver. Other values are handed to
+ * a {@link Resolver}; by default, one that uses {@link InetAddress#getByName(String) getByName}. A converter can be
+ * made to remember the addresses its resolver gives for a while, so that repeated host names are resolved once.</p>
  *
  * @author <a href="mailto:r@ymund.de">Raymund F\u00FCl\u00F6p</a>
  */
-public class InetAddressConverter implements ValueConverter<InetAddress> {
-    public InetAddress convert( String value ) {
-        try {
-            return InetAddress.getByName( value );
+public class InetAddressConverter implements ProbingValueConverter<InetAddress> {
+    private static final int MAXIMUM_CACHED_HOSTS = 1024;
+
+    private static final Resolver SYSTEM_RESOLVER = new Resolver() {
+        public InetAddress resolve( String host ) throws UnknownHostException {
+            return InetAddress.getByName( host );
         }
-        catch ( UnknownHostException e ) {
+    };
+
+    private final Resolver resolver;
+    private final long timeToLiveNanos;
+    private final ConcurrentMap<String, Resolved> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a converter that resolves host names with {@link InetAddress#getByName(String) getByName}.
+     */
+    public InetAddressConverter() {
+        this( SYSTEM_RESOLVER );
+    }
+
+    /**
+     * Creates a converter that resolves host names with the given resolver, every time it meets them.
+     *
+     * @param resolver resolves host names into addresses
+     * @throws NullPointerException if {@code resolver} is {@code null}
+     */
+    public InetAddressConverter( Resolver resolver ) {
+        this( resolver, 0, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * Creates a converter that resolves host names with the given resolver, and remembers each address it is given
+     * for the given time.
+     *
+     * @param resolver resolves host names into addresses
+     * @param timeToLive how long to remember a resolved address; zero means not to remember it
+     * @param unit unit of {@code timeToLive}
+     * @throws NullPointerException if {@code resolver} or {@code unit} is {@code null}
+     * @throws IllegalArgumentException if {@code timeToLive} is negative
+     */
+    public InetAddressConverter( Resolver resolver, long timeToLive, TimeUnit unit ) {
+        if ( resolver == null )
+            throw new NullPointerException( "illegal null resolver" );
+        if ( timeToLive < 0 )
+            throw new IllegalArgumentException( "illegal negative time to live " + timeToLive );
+
+        this.resolver = resolver;
+        this.timeToLiveNanos = unit.toNanos( timeToLive );
+    }
+
+    public InetAddress convert( String value ) {
+        InetAddress address = tryConvert( value );
+        if ( address == null )
             throw new ValueConversionException( message( value ) );
+
+        return address;
+    }
+
+    public InetAddress tryConvert( String value ) {
+        byte[] literal = AddressLiterals.parse( value );
+        return literal == null ? resolve( value ) : addressOf( literal );
+    }
+
+    /**
+     * <p>Converts each of the given values, resolving host names concurrently by way of the given executor.</p>
+     *
+     * <p>Literals are converted on the calling thread, which waits for the executor to finish resolving.</p>
+     *
+     * @param values values to convert
+     * @param executor runs the resolution of each host name
+     * @return the converted values, in the order given
+     * @throws ValueConversionException if any of the values does not convert; the first such value in the order
+     * given is the one reported
+     * @throws IllegalStateException if the calling thread is interrupted while waiting; its interrupt status is set
+     */
+    public List<InetAddress> convertAll( List<String> values, Executor executor ) {
+        List<FutureTask<InetAddress>> conversions = new ArrayList<>( values.size() );
+        for ( String each : values ) {
+            byte[] literal = AddressLiterals.parse( each );
+            FutureTask<InetAddress> conversion = new FutureTask<>( conversionOf( each, literal ) );
+            if ( literal == null )
+                executor.execute( conversion );
+            else
+                conversion.run();
+            conversions.add( conversion );
+        }
+
+        List<InetAddress> addresses = new ArrayList<>( values.size() );
+        try {
+            for ( int i = 0; i < values.size(); ++i ) {
+                InetAddress address = await( conversions.get( i ) );
+                if ( address == null )
+                    throw new ValueConversionException( message( values.get( i ) ) );
+
+                addresses.add( address );
+            }
+        } catch ( RuntimeException e ) {
+            for ( FutureTask<InetAddress> each : conversions )
+                each.cancel( true );
+            throw e;
         }
+
+        return addresses;
     }
 
     public Class<InetAddress> valueType() {
@@ -56,6 +166,49 @@ public class InetAddressConverter implements ValueConverter<InetAddress> {
         return null;
     }
 
+    private InetAddress resolve( String host ) {
+        if ( timeToLiveNanos == 0 )
+            return lookUp( host );
+
+        long now = System.nanoTime();
+        Resolved remembered = resolved.get( host );
+        if ( remembered != null && now - remembered.at < timeToLiveNanos )
+            return remembered.address;
+
+        InetAddress address = lookUp( host );
+        if ( address != null ) {
+            if ( resolved.size() >= MAXIMUM_CACHED_HOSTS )
+                resolved.clear();
+            resolved.put( host, new Resolved( address, now ) );
+        }
+
+        return address;
+    }
+
+    private InetAddress lookUp( String host ) {
+        try {
+            return resolver.resolve( host );
+        } catch ( UnknownHostException e ) {
+            return null;
+        }
+    }
+
+    private Callable<InetAddress> conversionOf( final String value, final byte[] literal ) {
+        return new Callable<InetAddress>() {
+            public InetAddress call() {
+                return literal == null ? resolve( value ) : addressOf( literal );
+            }
+        };
+    }
+
+    private static InetAddress addressOf( byte[] literal ) {
+        try {
+            return InetAddress.getByAddress( literal );
+        } catch ( UnknownHostException e ) {
+            throw new AssertionError( e );
+        }
+    }
+
     private String message( String value ) {
         return Messages.message(
             Locale.getDefault(),
@@ -64,4 +217,28 @@ public class InetAddressConverter implements ValueConverter<InetAddress> {
             "message",
             value );
     }
+
+    /**
+     * Resolves host names into addresses on behalf of an {@link InetAddressConverter}.
+     */
+    public interface Resolver {
+        /**
+         * Resolves the given host name.
+         *
+         * @param host host name to resolve
+         * @return the address of the host
+         * @throws UnknownHostException if the host name cannot be resolved
+         */
+        InetAddress resolve( String host ) throws UnknownHostException;
+    }
+
+    private static final class Resolved {
+        final InetAddress address;
+        final long at;
+
+        Resolved( InetAddress address, long at ) {
+            this.address = address;
+            this.at = at;
+        }
+    }
 }
@@ -1,17 +1,30 @@
 package joptsimple.util;
 
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.MessageFormat;
-import java.util.ResourceBundle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
+import joptsimple.ProbingValueConverter;
 import joptsimple.ValueConversionException;
-import joptsimple.ValueConverter;
+import joptsimple.internal.Messages;
+
+import static joptsimple.internal.Futures.*;
+import static joptsimple.internal.Strings.*;
 
 /**
- * Converts command line options to {@link Path} objects and checks the status of the underlying file.
+ * Converts command line options to {@link Path} objects and checks the status of the underlying file. The file's
+ * attributes are read once per value, however many properties are checked.
  */
-public class PathConverter implements ValueConverter<Path> {
+public class PathConverter implements ProbingValueConverter<Path> {
+    private static final int VALUES_PER_BATCH = 256;
+
     private final PathProperties[] pathProperties;
 
     public PathConverter( PathProperties... pathProperties ) {
@@ -22,14 +35,74 @@ public class PathConverter implements ValueConverter<Path> {
     public Path convert( String value ) {
         Path path = Paths.get(value);
 
-        if ( pathProperties != null ) {
-            for ( PathProperties each : pathProperties ) {
-                if ( !each.accept( path ) )
-                    throw new ValueConversionException( message( each.getMessageKey(), path.toString() ) );
+        PathProperties unmet = firstUnmetPropertyOf( path );
+        if ( unmet != null )
+            throw new ValueConversionException( message( unmet.getMessageKey(), path.toString() ) );
+
+        return path;
+    }
+
+    @Override
+    public Path tryConvert( String value ) {
+        Path path;
+        try {
+            path = Paths.get( value );
+        } catch ( InvalidPathException e ) {
+            return null;
+        }
+
+        return firstUnmetPropertyOf( path ) == null ? path : null;
+    }
+
+    /**
+     * <p>Converts each of the given values, checking the files they name in batches run by way of the given
+     * executor.</p>
+     *
+     * <p>The calling thread waits for every batch to finish. Every value whose file does not have the properties is
+     * reported, not only the first.</p>
+     *
+     * @param values values to convert
+     * @param executor runs each batch of checks
+     * @return the converted values, in the order given
+     * @throws ValueConversionException if any of the values does not convert; its message gives the reason for each
+     * such value, one per line, in the order given
+     * @throws InvalidPathException if any of the values cannot be converted to a path
+     */
+    public List<Path> convertAll( List<String> values, Executor executor ) {
+        final Path[] paths = new Path[ values.size() ];
+        for ( int i = 0; i < paths.length; ++i )
+            paths[ i ] = Paths.get( values.get( i ) );
+
+        final PathProperties[] unmet = new PathProperties[ paths.length ];
+        List<FutureTask<Void>> batches = new ArrayList<>();
+        for ( int start = 0; start < paths.length; start += VALUES_PER_BATCH ) {
+            final int from = start;
+            final int to = Math.min( start + VALUES_PER_BATCH, paths.length );
+            FutureTask<Void> batch = new FutureTask<>( new Callable<Void>() {
+                public Void call() {
+                    for ( int i = from; i < to; ++i )
+                        unmet[ i ] = firstUnmetPropertyOf( paths[ i ] );
+                    return null;
+                }
+            } );
+            executor.execute( batch );
+            batches.add( batch );
+        }
+
+        for ( FutureTask<Void> each : batches )
+            await( each );
+
+        StringBuilder failures = new StringBuilder();
+        for ( int i = 0; i < paths.length; ++i ) {
+            if ( unmet[ i ] != null ) {
+                failures.append( failures.length() == 0 ? "" : LINE_SEPARATOR )
+                    .append( message( unmet[ i ].getMessageKey(), paths[ i ].toString() ) );
             }
         }
+        if ( failures.length() > 0 )
+            throw new ValueConversionException( failures.toString() );
 
-        return path;
+        return Arrays.asList( paths );
     }
 
     @Override
@@ -42,10 +115,26 @@ public class PathConverter implements ValueConverter<Path> {
         return null;
     }
 
+    private PathProperties firstUnmetPropertyOf( Path path ) {
+        if ( pathProperties == null || pathProperties.length == 0 )
+            return null;
+
+        PathStatus status = PathStatus.of( path );
+        for ( PathProperties each : pathProperties ) {
+            if ( !each.accept( status ) )
+                return each;
+        }
+
+        return null;
+    }
+
     private String message( String errorKey, String value ) {
-        ResourceBundle bundle = ResourceBundle.getBundle( "joptsimple.ExceptionMessages" );
-        Object[] arguments = new Object[] { value, valuePattern() };
-        String template = bundle.getString( PathConverter.class.getName() + "." + errorKey + ".message" );
-        return new MessageFormat( template ).format( arguments );
+        return Messages.message(
+            Locale.getDefault(),
+            "joptsimple.ExceptionMessages",
+            PathConverter.class,
+            errorKey + ".message",
+            value,
+            valuePattern() );
     }
 }
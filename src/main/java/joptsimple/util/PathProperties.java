@@ -1,6 +1,5 @@
 package joptsimple.util;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -11,38 +10,38 @@ import java.nio.file.Path;
 public enum PathProperties {
     FILE_EXISTING( "file.existing" ) {
         @Override
-        boolean accept( Path path ) {
-            return Files.isRegularFile( path );
+        boolean accept( PathStatus status ) {
+            return status.isRegularFile();
         }
     },
     DIRECTORY_EXISTING( "directory.existing" ) {
         @Override
-        boolean accept( Path path ) {
-            return Files.isDirectory( path );
+        boolean accept( PathStatus status ) {
+            return status.isDirectory();
         }
     },
     NOT_EXISTING( "file.not.existing" ) {
         @Override
-        boolean accept( Path path ) {
-            return Files.notExists( path );
+        boolean accept( PathStatus status ) {
+            return status.isMissing();
         }
     },
     FILE_OVERWRITABLE( "file.overwritable" ) {
         @Override
-        boolean accept( Path path ) {
-            return FILE_EXISTING.accept( path ) && WRITABLE.accept( path );
+        boolean accept( PathStatus status ) {
+            return FILE_EXISTING.accept( status ) && WRITABLE.accept( status );
         }
     },
     READABLE( "file.readable" ) {
         @Override
-        boolean accept( Path path ) {
-            return Files.isReadable( path );
+        boolean accept( PathStatus status ) {
+            return status.isReadable();
         }
     },
     WRITABLE( "file.writable" ) {
         @Override
-        boolean accept( Path path ) {
-            return Files.isWritable( path );
+        boolean accept( PathStatus status ) {
+            return status.isWritable();
         }
     };
 
@@ -52,7 +51,11 @@ public enum PathProperties {
         this.messageKey = messageKey;
     }
 
-    abstract boolean accept( Path path );
+    boolean accept( Path path ) {
+        return accept( PathStatus.of( path ) );
+    }
+
+    abstract boolean accept( PathStatus status );
 
     String getMessageKey() {
         return messageKey;
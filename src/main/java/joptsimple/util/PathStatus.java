@@ -0,0 +1,60 @@
+package joptsimple.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * What one read of a path's attributes tells about the file there, so that several {@link PathProperties} can be
+ * checked without asking the file system again for each.
+ */
+final class PathStatus {
+    private final Path path;
+    private final BasicFileAttributes attributes;
+    private final boolean missing;
+
+    private PathStatus( Path path, BasicFileAttributes attributes, boolean missing ) {
+        this.path = path;
+        this.attributes = attributes;
+        this.missing = missing;
+    }
+
+    static PathStatus of( Path path ) {
+        try {
+            return new PathStatus( path, Files.readAttributes( path, BasicFileAttributes.class ), false );
+        } catch ( NoSuchFileException e ) {
+            return new PathStatus( path, null, true );
+        } catch ( IOException | SecurityException e ) {
+            return new PathStatus( path, null, false );
+        }
+    }
+
+    boolean isRegularFile() {
+        return attributes != null && attributes.isRegularFile();
+    }
+
+    boolean isDirectory() {
+        return attributes != null && attributes.isDirectory();
+    }
+
+    /*
+     * As with Files.notExists, a file whose attributes could not be read for any other reason than its absence is
+     * not known to be missing.
+     */
+    boolean isMissing() {
+        return missing;
+    }
+
+    /*
+     * Access is checked against the file system only for files known to exist; no other file is accessible.
+     */
+    boolean isReadable() {
+        return attributes != null && Files.isReadable( path );
+    }
+
+    boolean isWritable() {
+        return attributes != null && Files.isWritable( path );
+    }
+}
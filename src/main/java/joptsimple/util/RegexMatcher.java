@@ -26,21 +26,29 @@
 package joptsimple.util;
 
 import java.util.Locale;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static java.util.regex.Pattern.*;
 import static joptsimple.internal.Messages.message;
 
+import joptsimple.ProbingValueConverter;
 import joptsimple.ValueConversionException;
 import joptsimple.ValueConverter;
 
 /**
- * Ensures that values entirely match a regular expression.
+ * <p>Ensures that values entirely match a regular expression.</p>
+ *
+ * <p>Before running the expression against a value, a matcher checks the value's length and any literal prefix or
+ * suffix the expression requires, so that many non-matching values are rejected without running the expression.
+ * Each thread that uses a matcher reuses its own {@link Matcher}.</p>
  *
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
-public class RegexMatcher implements ValueConverter<String> {
+public class RegexMatcher implements ProbingValueConverter<String> {
     private final Pattern pattern;
+    private final RegexPrefilter prefilter;
+    private final ThreadLocal<Matcher> matchers = new ThreadLocal<>();
 
     /**
      * Creates a matcher that uses the given regular expression, modified by the given flags.
@@ -53,6 +61,7 @@ public class RegexMatcher implements ValueConverter<String> {
      */
     public RegexMatcher( String pattern, int flags ) {
         this.pattern = compile( pattern, flags );
+        this.prefilter = RegexPrefilter.of( pattern, flags );
     }
 
     /**
@@ -67,13 +76,17 @@ public class RegexMatcher implements ValueConverter<String> {
     }
 
     public String convert( String value ) {
-        if ( !pattern.matcher( value ).matches() ) {
+        if ( !matches( value ) ) {
             raiseValueConversionFailure( value );
         }
 
         return value;
     }
 
+    public String tryConvert( String value ) {
+        return matches( value ) ? value : null;
+    }
+
     public Class<String> valueType() {
         return String.class;
     }
@@ -82,6 +95,22 @@ public class RegexMatcher implements ValueConverter<String> {
         return pattern.pattern();
     }
 
+    private boolean matches( String value ) {
+        if ( prefilter.rejects( value ) )
+            return false;
+        if ( prefilter.isConclusive() )
+            return true;
+
+        Matcher matcher = matchers.get();
+        if ( matcher == null ) {
+            matcher = pattern.matcher( value );
+            matchers.set( matcher );
+        } else
+            matcher.reset( value );
+
+        return matcher.matches();
+    }
+
     private void raiseValueConversionFailure( String value ) {
         String message = message(
             Locale.getDefault(),
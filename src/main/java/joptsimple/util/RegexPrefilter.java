@@ -0,0 +1,484 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.util;
+
+import static java.util.regex.Pattern.*;
+
+/**
+ * <p>Cheap tests, derived from a regular expression, that some values cannot entirely match it.</p>
+ *
+ * <p>Only expressions made of literals, simple character classes, groups and quantifiers are analyzed; anything
+ * else, such as alternation, lookaround or flags that change how characters match, gets a prefilter that rejects
+ * nothing. Every analyzed expression bounds the lengths of the values it matches and may require a literal prefix or
+ * suffix; one made only of ASCII characters and classes also limits the characters values may contain; one that
+ * matches a single string decides every value by comparison.</p>
+ *
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+final class RegexPrefilter {
+    private static final int UNBOUNDED = -1;
+    private static final int ASCII = 128;
+    private static final int MAXIMUM_LITERAL_LENGTH = 256;
+    private static final int UNANALYZED_FLAGS = CASE_INSENSITIVE | COMMENTS | CANON_EQ | UNICODE_CHARACTER_CLASS;
+
+    static final RegexPrefilter NONE = new RegexPrefilter( 0, UNBOUNDED, "", "", null, null );
+    private static final RegexPrefilter EMPTY = new RegexPrefilter( 0, 0, "", "", "", new boolean[ ASCII ] );
+    private static final RegexPrefilter ANY_CHARACTER = new RegexPrefilter( 1, 2, "", "", null, null );
+    private static final boolean[] DIGITS = members( "0123456789" );
+    private static final boolean[] WORD_CHARACTERS =
+        members( "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ_0123456789" );
+    private static final boolean[] WHITESPACE = members( " \t\n\u000B\f\r" );
+
+    private final int minLength;
+    private final int maxLength;
+    private final String prefix;
+    private final String suffix;
+    private final String exact;
+    private final boolean[] allowed;
+
+    private RegexPrefilter( int minLength, int maxLength, String prefix, String suffix, String exact,
+        boolean[] allowed ) {
+
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.exact = exact;
+        this.allowed = allowed;
+    }
+
+    /**
+     * Derives a prefilter from the given regular expression and flags, which must compile.
+     *
+     * @param regex a regular expression
+     * @param flags the flags it is compiled with
+     * @return a prefilter for the expression
+     */
+    static RegexPrefilter of( String regex, int flags ) {
+        if ( ( flags & UNANALYZED_FLAGS ) != 0 )
+            return NONE;
+        if ( ( flags & LITERAL ) != 0 )
+            return new RegexPrefilter( regex.length(), regex.length(), regex, regex, regex, null );
+
+        RegexPrefilter derived = new Analysis( regex, ( flags & MULTILINE ) == 0 ).expression();
+        return derived == null ? NONE : derived;
+    }
+
+    /**
+     * @param value a value
+     * @return whether the value certainly does not entirely match the expression
+     */
+    boolean rejects( String value ) {
+        int length = value.length();
+        if ( length < minLength || maxLength != UNBOUNDED && length > maxLength )
+            return true;
+        if ( exact != null )
+            return !exact.equals( value );
+        if ( !value.startsWith( prefix ) || !value.endsWith( suffix ) )
+            return true;
+
+        if ( allowed != null ) {
+            for ( int i = 0; i < length; ++i ) {
+                char next = value.charAt( i );
+                if ( next >= ASCII || !allowed[ next ] )
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return whether every value this prefilter does not reject entirely matches the expression
+     */
+    boolean isConclusive() {
+        return exact != null;
+    }
+
+    int minLength() {
+        return minLength;
+    }
+
+    int maxLength() {
+        return maxLength;
+    }
+
+    String prefix() {
+        return prefix;
+    }
+
+    String suffix() {
+        return suffix;
+    }
+
+    private static RegexPrefilter ofCharacter( char literal ) {
+        String text = String.valueOf( literal );
+        boolean[] members = null;
+        if ( literal < ASCII ) {
+            members = new boolean[ ASCII ];
+            members[ literal ] = true;
+        }
+
+        return new RegexPrefilter( 1, 1, text, text, text, members );
+    }
+
+    private static RegexPrefilter ofClass( boolean[] members ) {
+        int count = 0;
+        char only = 0;
+        for ( char each = 0; each < ASCII; ++each ) {
+            if ( members[ each ] ) {
+                ++count;
+                only = each;
+            }
+        }
+
+        return count == 1 ? ofCharacter( only ) : new RegexPrefilter( 1, 1, "", "", null, members );
+    }
+
+    private RegexPrefilter followedBy( RegexPrefilter next ) {
+        long min = (long) minLength + next.minLength;
+        long max = maxLength == UNBOUNDED || next.maxLength == UNBOUNDED
+            ? UNBOUNDED
+            : (long) maxLength + next.maxLength;
+
+        String joined = exact == null || next.exact == null ? null : joined( exact, next.exact );
+        String newPrefix = exact == null ? prefix : orElse( joined( exact, next.prefix ), exact );
+        String newSuffix = next.exact == null ? next.suffix : orElse( joined( suffix, next.exact ), next.exact );
+
+        return new RegexPrefilter( clampedMin( min ), clampedMax( max ), newPrefix, newSuffix, joined,
+            union( allowed, next.allowed ) );
+    }
+
+    private RegexPrefilter repeated( int least, int most ) {
+        long min = (long) minLength * least;
+        long max = maxLength == UNBOUNDED || most == UNBOUNDED ? UNBOUNDED : (long) maxLength * most;
+
+        String repeated = exact == null ? null : repeated( exact, least );
+        String newPrefix = least == 0 ? "" : orElse( repeated, prefix );
+        String newSuffix = least == 0 ? "" : orElse( repeated, suffix );
+        String newExact = least == most ? repeated : null;
+
+        return new RegexPrefilter( clampedMin( min ), clampedMax( max ), newPrefix, newSuffix, newExact, allowed );
+    }
+
+    private static int clampedMin( long min ) {
+        return (int) Math.min( min, Integer.MAX_VALUE );
+    }
+
+    private static int clampedMax( long max ) {
+        return max > Integer.MAX_VALUE ? UNBOUNDED : (int) max;
+    }
+
+    private static String joined( String first, String second ) {
+        return first.length() + second.length() > MAXIMUM_LITERAL_LENGTH ? null : first + second;
+    }
+
+    private static String repeated( String text, int times ) {
+        if ( text.isEmpty() )
+            return text;
+        if ( (long) text.length() * times > MAXIMUM_LITERAL_LENGTH )
+            return null;
+
+        StringBuilder buffer = new StringBuilder();
+        for ( int i = 0; i < times; ++i )
+            buffer.append( text );
+        return buffer.toString();
+    }
+
+    private static String orElse( String text, String fallback ) {
+        return text == null ? fallback : text;
+    }
+
+    private static boolean[] union( boolean[] first, boolean[] second ) {
+        if ( first == null || second == null )
+            return null;
+
+        boolean[] members = new boolean[ ASCII ];
+        for ( int i = 0; i < ASCII; ++i )
+            members[ i ] = first[ i ] || second[ i ];
+        return members;
+    }
+
+    private static boolean[] members( String characters ) {
+        boolean[] members = new boolean[ ASCII ];
+        for ( int i = 0; i < characters.length(); ++i )
+            members[ characters.charAt( i ) ] = true;
+        return members;
+    }
+
+    /*
+     * Recursive descent over the expression; each method answers null for any construct it does not understand,
+     * which abandons the analysis. A leading ^ and trailing $ are understood only when they can match nothing but
+     * the ends of the value, that is, in the absence of MULTILINE.
+     */
+    private static final class Analysis {
+        private final String regex;
+        private final boolean anchorsAtEnds;
+        private int position;
+
+        Analysis( String regex, boolean anchorsAtEnds ) {
+            this.regex = regex;
+            this.anchorsAtEnds = anchorsAtEnds;
+        }
+
+        RegexPrefilter expression() {
+            if ( anchorsAtEnds && regex.startsWith( "^" ) )
+                ++position;
+
+            RegexPrefilter whole = sequence();
+            if ( anchorsAtEnds && whole != null && position == regex.length() - 1 && regex.charAt( position ) == '$' )
+                ++position;
+
+            return position == regex.length() ? whole : null;
+        }
+
+        private RegexPrefilter sequence() {
+            RegexPrefilter result = EMPTY;
+
+            while ( position < regex.length() && ")$".indexOf( regex.charAt( position ) ) < 0 ) {
+                RegexPrefilter atom = atom();
+                if ( atom == null )
+                    return null;
+
+                atom = quantified( atom );
+                if ( atom == null )
+                    return null;
+
+                result = result.followedBy( atom );
+            }
+
+            return result;
+        }
+
+        private RegexPrefilter atom() {
+            char next = regex.charAt( position++ );
+
+            switch ( next ) {
+                case '(':
+                    return group();
+                case '[':
+                    return characterClass();
+                case '.':
+                    return ANY_CHARACTER;
+                case '\\':
+                    return escape();
+                default:
+                    return "^|?*+{}]".indexOf( next ) >= 0 || Character.isSurrogate( next )
+                        ? null
+                        : ofCharacter( next );
+            }
+        }
+
+        private RegexPrefilter group() {
+            if ( regex.startsWith( "?:", position ) )
+                position += 2;
+            else if ( regex.startsWith( "?", position ) )
+                return null;
+
+            RegexPrefilter inner = sequence();
+            if ( inner == null || !regex.startsWith( ")", position ) )
+                return null;
+
+            ++position;
+            return inner;
+        }
+
+        private RegexPrefilter escape() {
+            if ( position == regex.length() )
+                return null;
+
+            char next = regex.charAt( position++ );
+            boolean[] escaped = escapedClass( next );
+            if ( escaped != null )
+                return ofClass( escaped );
+
+            switch ( next ) {
+                case 'D':
+                case 'W':
+                case 'S':
+                    return ANY_CHARACTER;
+                default:
+                    char literal = escapedLiteral( next );
+                    return literal == 0 ? null : ofCharacter( literal );
+            }
+        }
+
+        private RegexPrefilter characterClass() {
+            boolean negated = regex.startsWith( "^", position );
+            if ( negated )
+                ++position;
+
+            boolean[] members = new boolean[ ASCII ];
+            boolean empty = true;
+
+            while ( position < regex.length() ) {
+                char next = regex.charAt( position++ );
+
+                if ( next == ']' )
+                    return empty ? null : negated ? ANY_CHARACTER : ofClass( members );
+                if ( !addClassMember( next, members ) )
+                    return null;
+
+                empty = false;
+            }
+
+            return null;
+        }
+
+        private boolean addClassMember( char first, boolean[] members ) {
+            if ( first == '\\' ) {
+                if ( position == regex.length() )
+                    return false;
+
+                char next = regex.charAt( position++ );
+                boolean[] escaped = escapedClass( next );
+                char literal = escaped == null ? escapedLiteral( next ) : 0;
+                if ( escaped == null && ( literal == 0 || literal >= ASCII ) || startsRange() )
+                    return false;
+
+                if ( escaped == null )
+                    members[ literal ] = true;
+                else
+                    unite( members, escaped );
+                return true;
+            }
+
+            if ( first == '[' || first == '&' || first >= ASCII )
+                return false;
+
+            char last = first;
+            if ( startsRange() ) {
+                last = regex.charAt( position + 1 );
+                if ( last == '\\' || last == '[' || last == '&' || last >= ASCII || last < first )
+                    return false;
+                position += 2;
+            }
+
+            for ( char each = first; each <= last; ++each )
+                members[ each ] = true;
+            return true;
+        }
+
+        private boolean startsRange() {
+            return position + 1 < regex.length()
+                && regex.charAt( position ) == '-'
+                && regex.charAt( position + 1 ) != ']';
+        }
+
+        private RegexPrefilter quantified( RegexPrefilter atom ) {
+            if ( position == regex.length() )
+                return atom;
+
+            int least;
+            int most;
+            switch ( regex.charAt( position ) ) {
+                case '?':
+                    least = 0;
+                    most = 1;
+                    break;
+                case '*':
+                    least = 0;
+                    most = UNBOUNDED;
+                    break;
+                case '+':
+                    least = 1;
+                    most = UNBOUNDED;
+                    break;
+                case '{':
+                    return bounded( atom );
+                default:
+                    return atom;
+            }
+
+            ++position;
+            skipQuantifierMode();
+            return atom.repeated( least, most );
+        }
+
+        private RegexPrefilter bounded( RegexPrefilter atom ) {
+            int close = regex.indexOf( '}', position );
+            if ( close < 0 )
+                return null;
+
+            String bounds = regex.substring( position + 1, close );
+            int comma = bounds.indexOf( ',' );
+            int least;
+            int most;
+            try {
+                least = Integer.parseInt( comma < 0 ? bounds : bounds.substring( 0, comma ) );
+                most = comma < 0
+                    ? least
+                    : comma == bounds.length() - 1 ? UNBOUNDED : Integer.parseInt( bounds.substring( comma + 1 ) );
+            } catch ( NumberFormatException ex ) {
+                return null;
+            }
+            if ( least < 0 || most != UNBOUNDED && most < least )
+                return null;
+
+            position = close + 1;
+            skipQuantifierMode();
+            return atom.repeated( least, most );
+        }
+
+        private void skipQuantifierMode() {
+            if ( regex.startsWith( "?", position ) || regex.startsWith( "+", position ) )
+                ++position;
+        }
+
+        private static boolean[] escapedClass( char escaped ) {
+            switch ( escaped ) {
+                case 'd':
+                    return DIGITS;
+                case 'w':
+                    return WORD_CHARACTERS;
+                case 's':
+                    return WHITESPACE;
+                default:
+                    return null;
+            }
+        }
+
+        private static char escapedLiteral( char escaped ) {
+            switch ( escaped ) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                default:
+                    return Character.isLetterOrDigit( escaped ) || Character.isSurrogate( escaped ) ? 0 : escaped;
+            }
+        }
+
+        private static void unite( boolean[] members, boolean[] others ) {
+            for ( int i = 0; i < ASCII; ++i )
+                members[ i ] |= others[ i ];
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class AbbreviationsDisallowedTest extends AbstractOptionParserFixture {
+    @Before
+    public void configureParser() {
+        parser = new OptionParser( false );
+        parser.acceptsAll( asList( "verbose", "loud" ) );
+        parser.accepts( "level" ).withRequiredArg();
+        parser.accepts( "x" );
+        parser.accepts( "y" ).withOptionalArg();
+    }
+
+    @Test
+    public void recognizesFullNames() {
+        OptionSet options = parser.parse( "--verbose", "--level=3" );
+
+        assertOptionDetected( options, "verbose" );
+        assertOptionDetected( options, "loud" );
+        assertEquals( singletonList( "3" ), options.valuesOf( "level" ) );
+    }
+
+    @Test
+    public void rejectsUniqueAbbreviation() {
+        thrown.expect( UnrecognizedOptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "verb" ) );
+
+        parser.parse( "--verb" );
+    }
+
+    @Test
+    public void rejectsUniqueAbbreviationWhenCompiled() {
+        thrown.expect( UnrecognizedOptionException.class );
+
+        parser.compile().parse( "--lev", "3" );
+    }
+
+    @Test
+    public void stillHandlesClustersOfShortOptions() {
+        OptionSet options = parser.parse( "-xyz" );
+
+        assertOptionDetected( options, "x" );
+        assertEquals( singletonList( "z" ), options.valuesOf( "y" ) );
+    }
+
+    @Test
+    public void rejectsAbbreviationInDependencyDeclaration() {
+        thrown.expect( UnconfiguredOptionException.class );
+
+        parser.accepts( "quiet" ).availableUnless( "verb" );
+    }
+}
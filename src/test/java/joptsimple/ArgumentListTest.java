@@ -53,16 +53,29 @@ public class ArgumentListTest {
     public void treatNextAsLongOption() {
         args.treatNextAsLongOption();
         assertNextArgumentIs( "-a" );
+        assertFalse( args.isTreatedAsLongOption() );
 
         args.treatNextAsLongOption();
-        assertNextArgumentIs( "--b" );
+        assertNextArgumentIs( "b" );
+        assertTrue( args.isTreatedAsLongOption() );
 
-        args.treatNextAsLongOption();
-        assertNextArgumentIs( "--c" );
+        assertNextArgumentIs( "c" );
+        assertFalse( args.isTreatedAsLongOption() );
 
         assertNoMoreArguments();
     }
 
+    @Test
+    public void doesNotCopyOrRewriteArguments() {
+        String[] arguments = { "a", "b" };
+        ArgumentList list = new ArgumentList( arguments );
+
+        list.treatNextAsLongOption();
+        list.next();
+
+        assertArrayEquals( new String[] { "a", "b" }, arguments );
+    }
+
     private void assertNextArgumentIs( String expectedArg ) {
         assertTrue( "no more arguments?", args.hasMore() );
         assertEquals( "peek?", expectedArg, args.peek() );
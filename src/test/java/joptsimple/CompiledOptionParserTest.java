@@ -0,0 +1,141 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class CompiledOptionParserTest extends AbstractOptionParserFixture {
+    @Test
+    public void parsesLikeTheParserItWasCompiledFrom() {
+        OptionSpec<Integer> count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        parser.accepts( "v" );
+
+        OptionSet options = parser.compile().parse( "-v", "--cou", "3", "file" );
+
+        assertOptionDetected( options, "v" );
+        assertEquals( Integer.valueOf( 3 ), options.valueOf( count ) );
+        assertEquals( singletonList( "file" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void ignoresOptionsDeclaredAfterCompilation() {
+        parser.accepts( "verbose" );
+        CompiledOptionParser compiled = parser.compile();
+        parser.accepts( "version" );
+
+        assertOptionDetected( compiled.parse( "--ver" ), "verbose" );
+
+        thrown.expect( UnrecognizedOptionException.class );
+        compiled.parse( "--version" );
+    }
+
+    @Test
+    public void ignoresSettingsChangedAfterCompilation() {
+        parser.accepts( "a" );
+        CompiledOptionParser compiled = parser.compile();
+        parser.posixlyCorrect( true );
+
+        OptionSet options = compiled.parse( "x", "-a" );
+
+        assertOptionDetected( options, "a" );
+        assertEquals( singletonList( "x" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void snapshotsDefaultValues() {
+        ArgumentAcceptingOptionSpec<String> level = parser.accepts( "level" ).withRequiredArg().defaultsTo( "low" );
+        CompiledOptionParser compiled = parser.compile();
+        level.defaultsTo( "high" );
+
+        assertEquals( singletonList( "low" ), compiled.parse().valuesOf( "level" ) );
+    }
+
+    @Test
+    public void enforcesDependenciesCapturedAtCompilation() {
+        parser.accepts( "ftp" );
+        parser.accepts( "username" ).requiredIf( "ftp" );
+        CompiledOptionParser compiled = parser.compile();
+
+        thrown.expect( MissingRequiredOptionsException.class );
+        compiled.parse( "--ftp" );
+    }
+
+    @Test
+    public void endOfOptionsInOneParseDoesNotCarryOverToTheNext() {
+        parser.accepts( "a" );
+        CompiledOptionParser compiled = parser.compile();
+
+        assertEquals( singletonList( "-a" ), compiled.parse( "--", "-a" ).nonOptionArguments() );
+        assertOptionDetected( compiled.parse( "-a" ), "a" );
+    }
+
+    @Test
+    public void canBeSharedAmongThreads() throws Exception {
+        final OptionSpec<Integer> id = parser.accepts( "id" ).withRequiredArg().ofType( Integer.class );
+        parser.accepts( "q" );
+        parser.posixlyCorrect( true );
+        final CompiledOptionParser compiled = parser.compile();
+
+        ExecutorService pool = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for ( int i = 0; i < 400; ++i ) {
+                final int expected = i;
+                results.add( pool.submit( new Callable<Boolean>() {
+                    public Boolean call() {
+                        OptionSet options = expected % 2 == 0
+                            ? compiled.parse( "--id", String.valueOf( expected ), "-q", "rest" )
+                            : compiled.parse( "--id=" + expected, "--", "-q" );
+
+                        return options.valueOf( id ) == expected
+                            && options.has( "q" ) == ( expected % 2 == 0 )
+                            && options.nonOptionArguments().equals(
+                                asList( expected % 2 == 0 ? "rest" : "-q" ) );
+                    }
+                } ) );
+            }
+
+            for ( Future<Boolean> each : results )
+                assertTrue( each.get() );
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
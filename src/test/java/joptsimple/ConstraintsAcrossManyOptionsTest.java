@@ -0,0 +1,87 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static joptsimple.ExceptionMatchers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class ConstraintsAcrossManyOptionsTest extends AbstractOptionParserFixture {
+    private static final int COUNT = 150;
+
+    private final OptionSpecBuilder[] exclusive = new OptionSpecBuilder[ COUNT ];
+
+    @Before
+    public final void initializeParser() {
+        for ( int i = 0; i < COUNT; ++i )
+            exclusive[ i ] = parser.accepts( "x" + i );
+        parser.mutuallyExclusive( exclusive );
+
+        parser.accepts( "late" ).requiredIf( "x140" ).requiredUnless( "x3", "x99" );
+    }
+
+    @Test
+    public void oneOfMutuallyExclusiveOptionsInLastWord() {
+        OptionSet options = parser.parse( "-x140", "--late" );
+
+        assertTrue( options.has( "x140" ) );
+    }
+
+    @Test
+    public void mutuallyExclusiveOptionsInDifferentWords() {
+        thrown.expect( UnavailableOptionException.class );
+
+        parser.parse( "-x3", "-x130" );
+    }
+
+    @Test
+    public void requiredIfPrecedentInLastWord() {
+        thrown.expect( MissingRequiredOptionsException.class );
+        thrown.expect( withOption( "late" ) );
+
+        parser.parse( "-x140" );
+    }
+
+    @Test
+    public void requiredUnlessSatisfiedByPrecedentInSecondWord() {
+        OptionSet options = parser.parse( "-x99" );
+
+        assertFalse( options.has( "late" ) );
+    }
+
+    @Test
+    public void requiredUnlessNoPrecedentPresent() {
+        thrown.expect( MissingRequiredOptionsException.class );
+        thrown.expect( withOption( "late" ) );
+
+        parser.parse( "-x0" );
+    }
+}
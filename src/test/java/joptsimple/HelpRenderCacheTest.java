@@ -0,0 +1,210 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Locale.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class HelpRenderCacheTest extends AbstractOptionParserFixture {
+    private Locale defaultLocale;
+    private CountingHelpFormatter formatter;
+
+    @Before
+    public final void installCountingFormatter() {
+        defaultLocale = Locale.getDefault();
+        formatter = new CountingHelpFormatter();
+        parser.formatHelpWith( formatter );
+    }
+
+    @After
+    public final void restoreDefaultLocale() {
+        Locale.setDefault( defaultLocale );
+    }
+
+    @Test
+    public void rendersHelpOnceForRepeatedPrints() throws Exception {
+        parser.accepts( "verbose", "be chatty" );
+
+        String first = help();
+        String second = help();
+
+        assertEquals( first, second );
+        assertEquals( 1, formatter.renders );
+    }
+
+    @Test
+    public void rendersAgainAfterRecognizingAnotherOption() throws Exception {
+        parser.accepts( "verbose" );
+        help();
+
+        parser.accepts( "quiet" );
+
+        assertTrue( help().contains( "quiet" ) );
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void rendersAgainWithNewFormatter() throws Exception {
+        parser.accepts( "verbose" );
+        help();
+
+        CountingHelpFormatter another = new CountingHelpFormatter();
+        parser.formatHelpWith( another );
+        help();
+        help();
+
+        assertEquals( 1, formatter.renders );
+        assertEquals( 1, another.renders );
+    }
+
+    @Test
+    public void rendersAgainAfterReinstallingSameFormatter() throws Exception {
+        parser.accepts( "verbose" );
+        help();
+
+        parser.formatHelpWith( formatter );
+        help();
+
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void rendersAgainAfterDescribingArgument() throws Exception {
+        ArgumentAcceptingOptionSpec<String> level = parser.accepts( "level" ).withRequiredArg();
+        help();
+
+        level.describedAs( "severity" );
+
+        assertTrue( help().contains( "severity" ) );
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void rendersAgainAfterGivingDefault() throws Exception {
+        ArgumentAcceptingOptionSpec<Integer> count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        help();
+
+        count.defaultsTo( 42 );
+
+        assertTrue( help().contains( "42" ) );
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void rendersAgainAfterDescribingNonOptions() throws Exception {
+        NonOptionArgumentSpec<String> files = parser.nonOptions();
+        help();
+
+        files.describedAs( "files" );
+
+        assertTrue( help().contains( "files" ) );
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void keepsHelpWhenOptionsOfAnotherParserChange() throws Exception {
+        parser.accepts( "verbose" );
+        help();
+
+        OptionParser another = new OptionParser();
+        another.accepts( "level" ).withRequiredArg().describedAs( "severity" ).defaultsTo( "high" ).inSection( "x" );
+        another.nonOptions().describedAs( "files" );
+        help();
+
+        assertEquals( 1, formatter.renders );
+    }
+
+    @Test
+    public void rendersAgainAfterPuttingOptionInSection() throws Exception {
+        OptionSpecBuilder verbose = parser.accepts( "verbose" );
+        help();
+
+        verbose.inSection( "output" );
+        help();
+
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void rendersOncePerDefaultLocale() throws Exception {
+        parser.accepts( "verbose" );
+
+        Locale.setDefault( US );
+        String english = help();
+        Locale.setDefault( GERMANY );
+        String german = help();
+        Locale.setDefault( US );
+
+        assertEquals( english, help() );
+        assertEquals( "de_DE", german.substring( 0, german.indexOf( ':' ) ) );
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void writesSameHelpAsFormatterGives() throws Exception {
+        parser.accepts( "verbose", "be chatty" );
+        parser.accepts( "level" ).withOptionalArg().ofType( Integer.class ).defaultsTo( 3 );
+        BuiltinHelpFormatter builtin = new BuiltinHelpFormatter();
+        parser.formatHelpWith( builtin );
+
+        String first = help();
+
+        assertEquals( first, help() );
+        parser.formatHelpWith( new BuiltinHelpFormatter() );
+        assertEquals( first, help() );
+    }
+
+    private String help() throws Exception {
+        StringWriter sink = new StringWriter();
+        parser.printHelpOn( sink );
+        return sink.toString();
+    }
+
+    private static class CountingHelpFormatter implements HelpFormatter {
+        int renders;
+
+        public String format( Map<String, ? extends OptionDescriptor> options ) {
+            ++renders;
+
+            StringBuilder help = new StringBuilder( Locale.getDefault().toString() ).append( ':' );
+            for ( OptionDescriptor each : options.values() ) {
+                help.append( each.options() ).append( each.argumentDescription() ).append( each.defaultValues() );
+            }
+            return help.toString();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class HelpSectionsTest extends AbstractOptionParserFixture {
+    private RecordingHelpFormatter formatter;
+
+    @Before
+    public final void installRecordingFormatter() {
+        formatter = new RecordingHelpFormatter();
+        parser.formatHelpWith( formatter );
+    }
+
+    @Test
+    public void givesOnlySectionOptionsToFormatter() throws Exception {
+        parser.accepts( "proxy" ).inSection( "network" ).withRequiredArg();
+        parser.accepts( "port" ).withRequiredArg().ofType( Integer.class ).inSection( "network" );
+        parser.accepts( "color" ).inSection( "display" );
+        parser.accepts( "verbose" );
+
+        help( "network" );
+
+        assertEquals( asList( "[arguments]", "proxy", "port" ), formatter.lastOptions );
+    }
+
+    @Test
+    public void givesAllOptionsToFormatterWithoutSection() throws Exception {
+        parser.accepts( "proxy" ).inSection( "network" );
+        parser.accepts( "verbose" );
+
+        StringWriter sink = new StringWriter();
+        parser.printHelpOn( sink );
+
+        assertEquals( asList( "[arguments]", "proxy", "verbose" ), formatter.lastOptions );
+    }
+
+    @Test
+    public void givesOnlyNonOptionsToFormatterForUnknownSection() throws Exception {
+        parser.accepts( "proxy" ).inSection( "network" );
+
+        help( "storage" );
+
+        assertEquals( singletonList( "[arguments]" ), formatter.lastOptions );
+    }
+
+    @Test
+    public void listsSectionsInOrderOfFirstOption() {
+        parser.accepts( "color" ).inSection( "display" );
+        parser.accepts( "proxy" ).inSection( "network" );
+        parser.accepts( "font" ).inSection( "display" );
+        parser.accepts( "verbose" );
+
+        assertEquals( asList( "display", "network" ), new ArrayList<>( parser.helpSections() ) );
+    }
+
+    @Test
+    public void listsSectionsGivenAfterOptionsWereRecognized() {
+        OptionSpecBuilder color = parser.accepts( "color" );
+        assertEquals( emptySet(), parser.helpSections() );
+
+        color.inSection( "display" );
+
+        assertEquals( singleton( "display" ), parser.helpSections() );
+    }
+
+    @Test
+    public void rendersEachSectionOnce() throws Exception {
+        parser.accepts( "proxy" ).inSection( "network" );
+        parser.accepts( "color" ).inSection( "display" );
+
+        help( "network" );
+        help( "display" );
+        help( "network" );
+
+        assertEquals( 2, formatter.renders );
+    }
+
+    @Test
+    public void rendersSectionWithBuiltinFormatter() throws Exception {
+        parser.formatHelpWith( new BuiltinHelpFormatter( 80, 2 ) );
+        parser.accepts( "proxy", "proxy host" ).inSection( "network" ).withRequiredArg();
+        parser.accepts( "color", "use color" ).inSection( "display" );
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        parser.printHelpOn( sink, "network" );
+        String help = sink.toString();
+
+        assertTrue( help, help.contains( "--proxy" ) );
+        assertFalse( help, help.contains( "--color" ) );
+    }
+
+    @Test
+    public void givesSectionsOfOptionsToFormatter() throws Exception {
+        NonOptionArgumentSpec<String> files = parser.nonOptions().inSection( "input" );
+        parser.accepts( "proxy" ).inSection( "network" );
+        parser.accepts( "verbose" );
+
+        StringWriter sink = new StringWriter();
+        parser.printHelpOn( sink );
+
+        assertEquals( "input", files.section() );
+        assertEquals( asList( "input", "network", null ), formatter.lastSections );
+    }
+
+    @Test
+    public void showsNonOptionsInSectionWithEverySection() throws Exception {
+        parser.nonOptions().inSection( "input" );
+        parser.accepts( "proxy" ).inSection( "network" );
+
+        help( "network" );
+
+        assertEquals( asList( "[arguments]", "proxy" ), formatter.lastOptions );
+        assertEquals( singleton( "network" ), parser.helpSections() );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void rejectsNullSectionForHelp() throws Exception {
+        parser.printHelpOn( new StringWriter(), null );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void rejectsNullSectionForOption() {
+        parser.accepts( "proxy" ).inSection( null );
+    }
+
+    private void help( String section ) throws Exception {
+        parser.printHelpOn( new StringWriter(), section );
+    }
+
+    private static class RecordingHelpFormatter implements HelpFormatter {
+        int renders;
+        List<String> lastOptions;
+        List<String> lastSections;
+
+        public String format( Map<String, ? extends OptionDescriptor> options ) {
+            ++renders;
+            lastOptions = new ArrayList<>( options.keySet() );
+            lastSections = new ArrayList<>();
+            for ( OptionDescriptor each : options.values() )
+                lastSections.add( each instanceof SectionedOptionDescriptor
+                    ? ( (SectionedOptionDescriptor) each ).section()
+                    : "?" );
+            return lastOptions.toString();
+        }
+    }
+}
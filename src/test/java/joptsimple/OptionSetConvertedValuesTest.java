@@ -0,0 +1,120 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class OptionSetConvertedValuesTest extends AbstractOptionParserFixture {
+    private final AtomicInteger conversions = new AtomicInteger();
+    private OptionSpec<Integer> count;
+
+    @Before
+    public final void initializeParser() {
+        count = parser.accepts( "count" ).withRequiredArg().withValuesConvertedBy( new ValueConverter<Integer>() {
+            public Integer convert( String value ) {
+                conversions.incrementAndGet();
+                try {
+                    return Integer.valueOf( value );
+                } catch ( NumberFormatException ex ) {
+                    throw new ValueConversionException( value, ex );
+                }
+            }
+
+            public Class<Integer> valueType() {
+                return Integer.class;
+            }
+
+            public String valuePattern() {
+                return null;
+            }
+        } );
+    }
+
+    @Test
+    public void convertsEachArgumentOnce() {
+        OptionSet options = parser.parse( "--count", "1", "--count", "2" );
+
+        List<Integer> first = options.valuesOf( count );
+        List<Integer> second = options.valuesOf( count );
+
+        assertEquals( asList( 1, 2 ), first );
+        assertSame( first, second );
+        assertSame( first, options.valuesOf( "count" ) );
+        assertEquals( 2, conversions.get() );
+    }
+
+    @Test
+    public void failedConversionIsReportedEveryTime() {
+        OptionSet options = parser.parse( "--count", "x" );
+
+        for ( int i = 0; i < 2; ++i ) {
+            try {
+                options.valueOf( count );
+                fail();
+            } catch ( OptionArgumentConversionException expected ) {
+                assertTrue( expected.getCause() instanceof ValueConversionException );
+            }
+        }
+    }
+
+    @Test
+    public void convertedValuesCanBeReadFromManyThreads() throws Exception {
+        final OptionSet options = parser.parse( "--count", "1", "--count", "2", "--count", "3" );
+
+        ExecutorService pool = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for ( int i = 0; i < 200; ++i ) {
+                results.add( pool.submit( new Callable<List<Integer>>() {
+                    public List<Integer> call() {
+                        return options.valuesOf( count );
+                    }
+                } ) );
+            }
+
+            for ( Future<List<Integer>> each : results )
+                assertEquals( asList( 1, 2, 3 ), each.get() );
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
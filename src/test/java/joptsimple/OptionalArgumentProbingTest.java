@@ -0,0 +1,153 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class OptionalArgumentProbingTest extends AbstractOptionParserFixture {
+    private final AtomicInteger conversions = new AtomicInteger();
+    private final AtomicInteger probes = new AtomicInteger();
+    private OptionSpec<Integer> level;
+
+    @Before
+    public final void initializeParser() {
+        level = parser.accepts( "level" ).withOptionalArg().withValuesSeparatedBy( ',' )
+            .withValuesConvertedBy( new ProbingValueConverter<Integer>() {
+                public Integer convert( String value ) {
+                    conversions.incrementAndGet();
+                    try {
+                        return Integer.valueOf( value );
+                    } catch ( NumberFormatException ex ) {
+                        throw new ValueConversionException( value, ex );
+                    }
+                }
+
+                public Integer tryConvert( String value ) {
+                    probes.incrementAndGet();
+                    return value.matches( "-?\\d+" ) ? Integer.valueOf( value ) : null;
+                }
+
+                public Class<Integer> valueType() {
+                    return Integer.class;
+                }
+
+                public String valuePattern() {
+                    return null;
+                }
+            } );
+    }
+
+    @Test
+    public void keepsProbedValuesRatherThanConvertingAgain() {
+        OptionSet options = parser.parse( "--level", "1,2" );
+
+        assertEquals( asList( 1, 2 ), options.valuesOf( level ) );
+        assertEquals( 2, probes.get() );
+        assertEquals( 0, conversions.get() );
+    }
+
+    @Test
+    public void probesWithoutConvertingArgumentsThatAreNotTheOptions() {
+        OptionSet options = parser.parse( "--level", "high" );
+
+        assertOptionDetected( options, "level" );
+        assertEquals( emptyList(), options.valuesOf( level ) );
+        assertEquals( singletonList( "high" ), options.nonOptionArguments() );
+        assertEquals( 0, conversions.get() );
+    }
+
+    @Test
+    public void takesNegativeNumbersThatLookLikeOptions() {
+        OptionSet options = parser.parse( "--level", "-3" );
+
+        assertEquals( singletonList( -3 ), options.valuesOf( level ) );
+        assertEquals( 0, conversions.get() );
+    }
+
+    @Test
+    public void convertsArgumentsGivenInTheOptionsTokenAsUsual() {
+        OptionSet options = parser.parse( "--level=4", "--level", "5" );
+
+        assertEquals( asList( 4, 5 ), options.valuesOf( level ) );
+        assertEquals( 1, conversions.get() );
+    }
+
+    @Test
+    public void probesBuiltinConvertersWithoutExceptions() {
+        OptionSpec<Integer> count = parser.accepts( "count" ).withOptionalArg().ofType( Integer.class );
+
+        OptionSet options = parser.parse( "--count", "99999999999", "--count", "12" );
+
+        assertEquals( singletonList( 12 ), options.valuesOf( count ) );
+        assertEquals( singletonList( "99999999999" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void probesBuiltinIntegralConvertersAgainstTheirRanges() {
+        OptionSpec<Short> size = parser.accepts( "size" ).withOptionalArg().ofType( Short.class );
+
+        OptionSet options = parser.parse( "--size", "70000", "--size", "-7", "--size", "large", "--size", "+12" );
+
+        assertEquals( asList( (short) -7, (short) 12 ), options.valuesOf( size ) );
+        assertEquals( asList( "70000", "large" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void fallsBackOnConvertingWithConvertersThatCannotProbe() {
+        OptionSpec<String> name = parser.accepts( "name" ).withOptionalArg().withValuesConvertedBy(
+            new ValueConverter<String>() {
+                public String convert( String value ) {
+                    if ( !value.matches( "[a-z]+" ) )
+                        throw new ValueConversionException( value );
+                    return value.toUpperCase();
+                }
+
+                public Class<String> valueType() {
+                    return String.class;
+                }
+
+                public String valuePattern() {
+                    return null;
+                }
+            } );
+
+        OptionSet options = parser.parse( "--name", "x", "--name", "1" );
+
+        assertEquals( singletonList( "X" ), options.valuesOf( name ) );
+        assertEquals( singletonList( "1" ), options.nonOptionArguments() );
+    }
+}
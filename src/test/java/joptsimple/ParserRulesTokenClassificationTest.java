@@ -0,0 +1,72 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import org.junit.Test;
+
+import static joptsimple.ParserRules.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class ParserRulesTokenClassificationTest {
+    @Test
+    public void nonOptions() {
+        assertEquals( NON_OPTION_TOKEN, classify( "" ) );
+        assertEquals( NON_OPTION_TOKEN, classify( "-" ) );
+        assertEquals( NON_OPTION_TOKEN, classify( "a" ) );
+        assertEquals( NON_OPTION_TOKEN, classify( "a-b" ) );
+    }
+
+    @Test
+    public void shortOptions() {
+        assertEquals( SHORT_OPTION_TOKEN, classify( "-a" ) );
+        assertEquals( SHORT_OPTION_TOKEN, classify( "-abc" ) );
+        assertEquals( SHORT_OPTION_TOKEN, classify( "-a=b" ) );
+    }
+
+    @Test
+    public void longOptions() {
+        assertEquals( LONG_OPTION_TOKEN, classify( "--a" ) );
+        assertEquals( LONG_OPTION_TOKEN, classify( "--a=b" ) );
+        assertEquals( LONG_OPTION_TOKEN, classify( "---" ) );
+    }
+
+    @Test
+    public void optionTerminator() {
+        assertEquals( OPTION_TERMINATOR_TOKEN, classify( "--" ) );
+    }
+
+    @Test
+    public void onlyShortAndLongOptionsAreOptionTokens() {
+        assertTrue( isOptionToken( "-a" ) );
+        assertTrue( isOptionToken( "--a" ) );
+        assertFalse( isOptionToken( "--" ) );
+        assertFalse( isOptionToken( "-" ) );
+        assertFalse( isOptionToken( "a" ) );
+    }
+}
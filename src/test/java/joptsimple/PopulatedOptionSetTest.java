@@ -27,6 +27,7 @@ package joptsimple;
 
 import java.util.Collections;
 
+import static java.util.Arrays.*;
 import static java.util.Collections.*;
 
 import org.junit.Before;
@@ -69,4 +70,16 @@ public class PopulatedOptionSetTest {
     public void hasOptions() {
         assertTrue( populated.hasOptions() );
     }
+
+    @Test
+    public void argumentsOfInterleavedOptionsKeepTheirOrder() {
+        RequiredArgumentOptionSpec<String> c = new RequiredArgumentOptionSpec<>( "c" );
+        populated.addWithArgument( c, "1" );
+        populated.addWithArgument( new RequiredArgumentOptionSpec<String>( "b" ), "other-b" );
+        populated.addWithArgument( c, "2" );
+
+        assertEquals( asList( "1", "2" ), populated.valuesOf( c ) );
+        assertEquals( singletonList( "other-b" ), populated.valuesOf( "b" ) );
+        assertTrue( populated.has( c ) );
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import static java.util.Arrays.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class PrimitiveOptionValuesTest extends AbstractOptionParserFixture {
+    private OptionSpec<Integer> ids;
+    private OptionSpec<Long> size;
+    private OptionSpec<Double> ratios;
+    private OptionSpec<Integer> port;
+    private OptionSpec<Integer> hex;
+
+    @Before
+    public final void initializeParser() {
+        ids = parser.accepts( "ids" ).withRequiredArg().ofType( int.class ).withValuesSeparatedBy( ',' );
+        size = parser.accepts( "size" ).withRequiredArg().ofType( Long.class );
+        ratios = parser.accepts( "ratios" ).withRequiredArg().ofType( double.class ).withValuesSeparatedBy( ":" );
+        port = parser.accepts( "port" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 8080 );
+        hex = parser.accepts( "hex" ).withRequiredArg().withValuesConvertedBy( new ValueConverter<Integer>() {
+            public Integer convert( String value ) {
+                return Integer.valueOf( value, 16 );
+            }
+
+            public Class<Integer> valueType() {
+                return Integer.class;
+            }
+
+            public String valuePattern() {
+                return null;
+            }
+        } );
+    }
+
+    @Test
+    public void intsSplitOnSeparator() {
+        OptionSet options = parser.parse( "--ids=1,,-2,3", "--ids", "40" );
+
+        assertArrayEquals( new int[] { 1, -2, 3, 40 }, options.intValuesOf( ids ) );
+        assertEquals( asList( 1, -2, 3, 40 ), options.valuesOf( ids ) );
+    }
+
+    @Test
+    public void singleLong() {
+        OptionSet options = parser.parse( "--size", "9223372036854775807" );
+
+        assertEquals( Long.MAX_VALUE, options.longValueOf( size ) );
+    }
+
+    @Test
+    public void doubles() {
+        OptionSet options = parser.parse( "--ratios", "0.5:1e3:-2" );
+
+        assertArrayEquals( new double[] { 0.5, 1000, -2 }, options.doubleValuesOf( ratios ), 0 );
+    }
+
+    @Test
+    public void defaultValuesWhenAbsent() {
+        OptionSet options = parser.parse();
+
+        assertEquals( 8080, options.intValueOf( port ) );
+        assertArrayEquals( new int[ 0 ], options.intValuesOf( ids ) );
+    }
+
+    @Test
+    public void otherConvertersAreHonored() {
+        OptionSet options = parser.parse( "--hex", "ff" );
+
+        assertEquals( 255, options.intValueOf( hex ) );
+    }
+
+    @Test( expected = OptionArgumentConversionException.class )
+    public void badValue() {
+        parser.parse( "--ids", "1,x" ).intValuesOf( ids );
+    }
+
+    @Test( expected = OptionArgumentConversionException.class )
+    public void outOfRange() {
+        parser.parse( "--ids", "2147483648" ).intValuesOf( ids );
+    }
+
+    @Test( expected = MultipleArgumentsForOptionException.class )
+    public void moreThanOneValue() {
+        parser.parse( "--ids", "1,2" ).intValueOf( ids );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void noValueAndNoDefault() {
+        parser.parse().longValueOf( size );
+    }
+}
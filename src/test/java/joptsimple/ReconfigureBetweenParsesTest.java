@@ -0,0 +1,101 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class ReconfigureBetweenParsesTest extends AbstractOptionParserFixture {
+    @Test
+    public void optionDeclaredAfterParseIsRecognizedByNextParse() {
+        parser.accepts( "a" );
+        parser.parse( "-a" );
+
+        parser.accepts( "b" );
+
+        assertTrue( parser.parse( "-a", "-b" ).has( "b" ) );
+    }
+
+    @Test
+    public void defaultDeclaredAfterParseIsSeenByNextParse() {
+        ArgumentAcceptingOptionSpec<String> a = parser.accepts( "a" ).withRequiredArg();
+        parser.parse();
+
+        a.defaultsTo( "x", "y" );
+
+        assertEquals( asList( "x", "y" ), parser.parse().valuesOf( a ) );
+    }
+
+    @Test
+    public void optionMadeRequiredAfterParseIsEnforcedByNextParse() {
+        ArgumentAcceptingOptionSpec<String> a = parser.accepts( "a" ).withRequiredArg();
+        parser.parse();
+
+        a.required();
+
+        thrown.expect( MissingRequiredOptionsException.class );
+        parser.parse();
+    }
+
+    @Test
+    public void helpOptionDeclaredAfterParseExcusesMissingRequiredOptions() {
+        parser.accepts( "a" ).withRequiredArg().required();
+        AbstractOptionSpec<Void> help = parser.accepts( "h" );
+        parser.parse( "-a", "1" );
+
+        help.forHelp();
+
+        assertTrue( parser.parse( "-h" ).has( "h" ) );
+    }
+
+    @Test
+    public void settingsChangedAfterParseApplyToNextParse() {
+        parser.accepts( "a" );
+        parser.parse( "b", "-a" );
+
+        parser.posixlyCorrect( true );
+        OptionSet options = parser.parse( "b", "-a" );
+
+        assertFalse( options.has( "a" ) );
+        assertEquals( asList( "b", "-a" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void unrecognizedOptionsAllowedAfterParseApplyToNextParse() {
+        parser.parse();
+
+        parser.allowsUnrecognizedOptions();
+
+        assertEquals( singletonList( "-z" ), parser.parse( "-z" ).nonOptionArguments() );
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class SharedHelpFormatterTest {
+    private static final int THREADS = 8;
+    private static final int RENDERS_PER_THREAD = 50;
+
+    private final BuiltinHelpFormatter shared = new BuiltinHelpFormatter( 60, 2 );
+
+    @Test
+    public void givesSameHelpWhenReused() throws Exception {
+        OptionParser parser = parserWithOptions( 5 );
+        parser.formatHelpWith( shared );
+
+        String first = helpFrom( parser );
+        String second = helpFrom( parser );
+
+        assertEquals( first, second );
+    }
+
+    @Test
+    public void givesEachConcurrentCallerItsOwnHelp() throws Exception {
+        final List<OptionParser> parsers = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for ( int i = 0; i < THREADS; ++i ) {
+            OptionParser parser = parserWithOptions( i + 1 );
+            parser.formatHelpWith( new BuiltinHelpFormatter( 60, 2 ) );
+            expected.add( helpFrom( parser ) );
+            parser.formatHelpWith( shared );
+            parsers.add( parser );
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool( THREADS );
+        final CountDownLatch start = new CountDownLatch( 1 );
+        try {
+            List<Future<Integer>> mismatches = new ArrayList<>();
+            for ( int i = 0; i < THREADS; ++i ) {
+                final int index = i;
+                mismatches.add( pool.submit( new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        start.await();
+
+                        int count = 0;
+                        for ( int j = 0; j < RENDERS_PER_THREAD; ++j ) {
+                            OptionParser parser = parsers.get( index );
+                            parser.formatHelpWith( shared );
+                            if ( !expected.get( index ).equals( helpFrom( parser ) ) )
+                                ++count;
+                        }
+                        return count;
+                    }
+                } ) );
+            }
+
+            start.countDown();
+            for ( Future<Integer> each : mismatches )
+                assertEquals( Integer.valueOf( 0 ), each.get( 30, TimeUnit.SECONDS ) );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void keepsHookOverridesWorking() throws Exception {
+        OptionParser parser = parserWithOptions( 2 );
+        parser.formatHelpWith( new BuiltinHelpFormatter( 60, 2 ) {
+            @Override
+            protected void addOptions( Collection<? extends OptionDescriptor> options ) {
+                super.addOptions( options );
+                addOptionRow( "--extra", "added by a subclass" );
+            }
+        } );
+
+        String help = helpFrom( parser );
+
+        assertTrue( help, help.contains( "--extra" ) );
+        assertEquals( help, helpFrom( parser ) );
+    }
+
+    @Test
+    public void rendersFormatOverridesInContextsOfTheirOwn() throws Exception {
+        OptionParser parser = parserWithOptions( 2 );
+        BuiltinHelpFormatter overriding = new BuiltinHelpFormatter( 60, 2 ) {
+            @Override
+            public String format( Map<String, ? extends OptionDescriptor> options ) {
+                addRows( options.values() );
+                return optionOutput();
+            }
+        };
+        parser.formatHelpWith( overriding );
+        String first = helpFrom( parser );
+
+        parser.formatHelpWith( overriding );
+
+        assertEquals( first, helpFrom( parser ) );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void rejectsRowsAddedOutsideOfRenders() {
+        BuiltinHelpFormatter formatter = new BuiltinHelpFormatter( 60, 2 ) {
+            @Override
+            public String format( Map<String, ? extends OptionDescriptor> options ) {
+                addOptionRow( "--extra", "added outside of a render" );
+                return optionOutput();
+            }
+        };
+
+        formatter.format( Collections.<String, OptionDescriptor> emptyMap() );
+    }
+
+    @Test
+    public void leavesNoRenderContextBehind() throws Exception {
+        ContextProbingFormatter formatter = new ContextProbingFormatter();
+        OptionParser parser = parserWithOptions( 2 );
+        parser.formatHelpWith( formatter );
+
+        String help = helpFrom( parser );
+
+        assertTrue( help, help.contains( "option-2-1" ) );
+        assertFalse( formatter.hasRenderContext() );
+    }
+
+    private static class ContextProbingFormatter extends BuiltinHelpFormatter {
+        ContextProbingFormatter() {
+            super( 60, 2 );
+        }
+
+        @Override
+        public String format( Map<String, ? extends OptionDescriptor> options ) {
+            addRows( options.values() );
+            return optionOutput();
+        }
+
+        boolean hasRenderContext() {
+            try {
+                optionOutput();
+                return true;
+            } catch ( IllegalStateException expected ) {
+                return false;
+            }
+        }
+    }
+
+    private static OptionParser parserWithOptions( int count ) {
+        OptionParser parser = new OptionParser();
+        for ( int i = 0; i < count; ++i ) {
+            parser.accepts( "option-" + count + "-" + i, "description of option " + i + " among " + count
+                + " options, long enough that it has to wrap onto further lines" ).withRequiredArg();
+        }
+        parser.nonOptions( "files to process" );
+        return parser;
+    }
+
+    private static String helpFrom( OptionParser parser ) throws Exception {
+        StringWriter sink = new StringWriter();
+        parser.printHelpOn( sink );
+        return sink.toString();
+    }
+}
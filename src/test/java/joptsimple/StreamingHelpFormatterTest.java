@@ -0,0 +1,127 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class StreamingHelpFormatterTest extends AbstractOptionParserFixture {
+    @Test
+    public void streamsSameHelpAsFormatGivesWithoutOptions() throws Exception {
+        assertStreamsSameHelp( new BuiltinHelpFormatter( 60, 2 ) );
+    }
+
+    @Test
+    public void streamsSameHelpAsFormatGivesWithoutNonOptionsDescription() throws Exception {
+        parser.accepts( "verbose", "be chatty" );
+        parser.accepts( "level", "how loud to be" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 3 );
+
+        assertStreamsSameHelp( new BuiltinHelpFormatter( 60, 2 ) );
+    }
+
+    @Test
+    public void streamsSameHelpAsFormatGivesWithNonOptionsDescription() throws Exception {
+        parser.accepts( "verbose", "be chatty, at some length, so that the description has to wrap" ).isRequired();
+        parser.nonOptions( "files to process" ).describedAs( "file" );
+
+        assertStreamsSameHelp( new BuiltinHelpFormatter( 60, 2 ) );
+    }
+
+    @Test
+    public void writesOverriddenOutputWhole() throws Exception {
+        parser.accepts( "verbose" );
+        BuiltinHelpFormatter formatter = new BuiltinHelpFormatter( 60, 2 ) {
+            @Override
+            protected String formattedHelpOutput() {
+                return "custom" + super.formattedHelpOutput();
+            }
+        };
+
+        RecordingWriter sink = new RecordingWriter();
+        formatter.formatTo( descriptors(), sink );
+
+        assertEquals( 1, sink.writes.size() );
+        assertEquals( formatter.format( descriptors() ), sink.toString() );
+        assertTrue( sink.toString().startsWith( "custom" ) );
+    }
+
+    @Test
+    public void printsHelpAsItIsRendered() throws Exception {
+        parser.accepts( "verbose", "be chatty" );
+        parser.accepts( "quiet", "be silent" );
+        parser.formatHelpWith( new BuiltinHelpFormatter( 60, 2 ) );
+
+        RecordingWriter streamed = new RecordingWriter();
+        parser.printHelpOn( streamed );
+        RecordingWriter cached = new RecordingWriter();
+        parser.printHelpOn( cached );
+
+        assertTrue( streamed.writes.toString(), streamed.writes.size() > 1 );
+        assertEquals( 1, cached.writes.size() );
+        assertEquals( streamed.toString(), cached.toString() );
+    }
+
+    private void assertStreamsSameHelp( BuiltinHelpFormatter formatter ) throws IOException {
+        StringBuilder sink = new StringBuilder();
+
+        formatter.formatTo( descriptors(), sink );
+
+        assertEquals( formatter.format( descriptors() ), sink.toString() );
+    }
+
+    private Map<String, OptionDescriptor> descriptors() {
+        Map<String, OptionDescriptor> descriptors = new LinkedHashMap<>();
+        for ( Map.Entry<String, OptionSpec<?>> each : parser.recognizedOptions().entrySet() )
+            descriptors.put( each.getKey(), (OptionDescriptor) each.getValue() );
+        return descriptors;
+    }
+
+    private static class RecordingWriter extends StringWriter {
+        final List<String> writes = new ArrayList<>();
+
+        @Override
+        public void write( String text, int offset, int length ) {
+            writes.add( text.substring( offset, offset + length ) );
+            super.write( text, offset, length );
+        }
+
+        @Override
+        public void write( String text ) {
+            write( text, 0, text.length() );
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static joptsimple.ExceptionMatchers.*;
+import static joptsimple.ParseError.Kind.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class TryParseTest extends AbstractOptionParserFixture {
+    @Before
+    public final void initializeParser() {
+        parser.accepts( "a" );
+        parser.accepts( "file" ).withRequiredArg().required();
+        parser.accepts( "quiet" ).availableUnless( "a" );
+    }
+
+    @Test
+    public void givesDetectedOptionsWhenThereAreNoProblems() {
+        ParseResult result = parser.tryParse( "-a", "--file", "x", "y" );
+
+        assertTrue( result.isSuccessful() );
+        assertEquals( emptyList(), result.errors() );
+        assertOptionDetected( result.optionSet(), "a" );
+        assertEquals( singletonList( "x" ), result.optionSet().valuesOf( "file" ) );
+        assertEquals( singletonList( "y" ), result.optionSet().nonOptionArguments() );
+    }
+
+    @Test
+    public void reportsEveryProblemInOrder() {
+        ParseResult result = parser.tryParse( "--bogus", "-ab", "-a", "--quiet", "--file" );
+
+        assertFalse( result.isSuccessful() );
+        List<ParseError> errors = result.errors();
+        assertEquals( 5, errors.size() );
+        assertError( errors.get( 0 ), UNRECOGNIZED_OPTION, "bogus" );
+        assertError( errors.get( 1 ), UNRECOGNIZED_OPTION, "b" );
+        assertError( errors.get( 2 ), MISSING_REQUIRED_ARGUMENT, "file" );
+        assertError( errors.get( 3 ), MISSING_REQUIRED_OPTIONS, "file" );
+        assertError( errors.get( 4 ), UNAVAILABLE_OPTIONS, "quiet" );
+    }
+
+    @Test
+    public void errorsDescribeProblemsAsExceptionsWould() {
+        ParseResult result = parser.tryParse( "--bogus", "-a", "--quiet" );
+
+        for ( ParseError each : result.errors() ) {
+            OptionException exception = each.toException();
+            assertEquals( each.options(), exception.options() );
+            assertEquals( exception.getMessage(), each.message() );
+            assertEquals( exception.localizedMessage( Locale.ENGLISH ), each.message( Locale.ENGLISH ) );
+        }
+        assertEquals( "bogus is not a recognized option", result.errors().get( 0 ).toString() );
+    }
+
+    @Test
+    public void throwsFirstProblemWhenAskedForOptionsOfUnsuccessfulParse() {
+        ParseResult result = parser.tryParse( "-a", "--quiet" );
+
+        thrown.expect( MissingRequiredOptionsException.class );
+        thrown.expect( withOption( "file" ) );
+
+        result.optionSet();
+    }
+
+    @Test
+    public void parseStillThrowsFirstProblem() {
+        thrown.expect( UnrecognizedOptionException.class );
+        thrown.expect( withOption( "bogus" ) );
+
+        parser.parse( "--bogus", "--file" );
+    }
+
+    @Test
+    public void takesUnrecognizedOptionsAsNonOptionArgumentsWhenAllowed() {
+        parser.allowsUnrecognizedOptions();
+
+        ParseResult result = parser.tryParse( "--bogus", "-xyz", "--file", "f" );
+
+        assertTrue( result.isSuccessful() );
+        assertEquals( asList( "--bogus", "-xyz" ), result.optionSet().nonOptionArguments() );
+    }
+
+    @Test
+    public void compiledParsersTryParsingToo() {
+        CompiledOptionParser compiled = parser.compile();
+
+        assertTrue( compiled.tryParse( "--file", "f" ).isSuccessful() );
+        assertEquals( 2, compiled.tryParse( "--file" ).errors().size() );
+    }
+
+    private static void assertError( ParseError error, ParseError.Kind kind, String option ) {
+        assertEquals( kind, error.kind() );
+        assertEquals( singletonList( option ), error.options() );
+    }
+}
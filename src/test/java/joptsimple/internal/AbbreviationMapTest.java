@@ -28,6 +28,7 @@ package joptsimple.internal;
 import org.junit.Before;
 import org.junit.Test;
 
+import static java.util.Collections.*;
 import static org.junit.Assert.*;
 
 /**
@@ -358,4 +359,65 @@ public class AbbreviationMapTest {
         assertTrue( abbreviations.contains( "goodyea" ) );
         assertEquals( "8", abbreviations.get( "goodyear" ) );
     }
+
+    @Test
+    public void addingKeyThatEndsPartwayAlongAnotherKeysCharacters() {
+        abbreviations.put( "verbose", "1" );
+        abbreviations.put( "verb", "2" );
+
+        assertEquals( "2", abbreviations.get( "verb" ) );
+        assertNull( abbreviations.get( "ver" ) );
+        assertEquals( "1", abbreviations.get( "verbo" ) );
+        assertNull( abbreviations.get( "verbosity" ) );
+        assertNull( abbreviations.get( "verbx" ) );
+    }
+
+    @Test
+    public void addingKeyThatDivergesPartwayAlongAnotherKeysCharacters() {
+        abbreviations.put( "verbose", "1" );
+        abbreviations.put( "version", "2" );
+
+        assertNull( abbreviations.get( "v" ) );
+        assertNull( abbreviations.get( "ver" ) );
+        assertEquals( "1", abbreviations.get( "verb" ) );
+        assertEquals( "2", abbreviations.get( "vers" ) );
+        assertNull( abbreviations.get( "verx" ) );
+    }
+
+    @Test
+    public void removingKeyRestoresAbbreviationsOfItsSibling() {
+        abbreviations.put( "verbose", "1" );
+        abbreviations.put( "version", "2" );
+
+        abbreviations.remove( "version" );
+
+        assertEquals( "1", abbreviations.get( "v" ) );
+        assertEquals( "1", abbreviations.get( "ver" ) );
+        assertNull( abbreviations.get( "vers" ) );
+        assertEquals( singletonMap( "verbose", "1" ), abbreviations.toJavaUtilMap() );
+    }
+
+    @Test
+    public void removingKeyInBetweenOthersKeepsTheOthersReachable() {
+        abbreviations.put( "a", "1" );
+        abbreviations.put( "abc", "2" );
+        abbreviations.put( "abcde", "3" );
+
+        abbreviations.remove( "abc" );
+
+        assertEquals( "1", abbreviations.get( "a" ) );
+        assertEquals( "3", abbreviations.get( "ab" ) );
+        assertEquals( "3", abbreviations.get( "abcd" ) );
+        assertEquals( "3", abbreviations.get( "abcde" ) );
+    }
+
+    @Test
+    public void removingPrefixOfKeyThatIsNotItselfAKeyHasNoEffect() {
+        abbreviations.put( "verbose", "1" );
+
+        abbreviations.remove( "verb" );
+
+        assertEquals( "1", abbreviations.get( "verbose" ) );
+        assertEquals( "1", abbreviations.get( "verb" ) );
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static joptsimple.internal.AddressLiterals.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class AddressLiteralsTest {
+    private static final String HEX_DIGITS = "0123456789abcdefABCDEF";
+
+    @Test
+    public void readsDottedQuads() throws Exception {
+        assertLiteral( "127.0.0.1" );
+        assertLiteral( "0.0.0.0" );
+        assertLiteral( "255.255.255.255" );
+    }
+
+    @Test
+    public void leavesOtherIpv4FormsToResolver() {
+        assertNull( parse( "256.1.1.1" ) );
+        assertNull( parse( "1.2.3" ) );
+        assertNull( parse( "1.2.3.4.5" ) );
+        assertNull( parse( "01.2.3.4" ) );
+        assertNull( parse( "1..3.4" ) );
+        assertNull( parse( "1.2.3.4." ) );
+        assertNull( parse( "localhost" ) );
+        assertNull( parse( "" ) );
+    }
+
+    @Test
+    public void readsIpv6Literals() throws Exception {
+        assertLiteral( "::" );
+        assertLiteral( "::1" );
+        assertLiteral( "1::" );
+        assertLiteral( "fe80::1:2" );
+        assertLiteral( "2001:DB8:0:0:8:800:200C:417A" );
+        assertLiteral( "[2001:db8::1]" );
+        assertLiteral( "::ffff:10.1.2.3" );
+        assertLiteral( "::10.1.2.3" );
+        assertLiteral( "1:2:3:4:5:6:10.1.2.3" );
+    }
+
+    @Test
+    public void rejectsMalformedIpv6Literals() {
+        assertNull( parse( ":::" ) );
+        assertNull( parse( "1::2::3" ) );
+        assertNull( parse( ":1" ) );
+        assertNull( parse( "1:" ) );
+        assertNull( parse( "1:2:3:4:5:6:7:8:9" ) );
+        assertNull( parse( "1:2:3:4::5:6:7:8" ) );
+        assertNull( parse( "12345::" ) );
+        assertNotNull( parse( "00012::" ) );
+        assertNull( parse( "1:2:3:4:5:6:7:10.1.2.3" ) );
+        assertNull( parse( "fe80::1%1" ) );
+        assertNull( parse( "[::1" ) );
+    }
+
+    @Test
+    public void agreesWithInetAddressOnIpv6LikeText() throws Exception {
+        Random random = new Random( 7L );
+        int literals = 0;
+        for ( int i = 0; i < 20000; ++i ) {
+            String text = ipv6LikeText( random );
+
+            byte[] parsed = parse( text );
+            InetAddress expected = addressOrNullFor( text );
+
+            if ( parsed == null )
+                assertNull( text, expected );
+            else {
+                assertEquals( text, expected, InetAddress.getByAddress( parsed ) );
+                ++literals;
+            }
+        }
+
+        assertTrue( String.valueOf( literals ), literals > 2000 );
+    }
+
+    private static String ipv6LikeText( Random random ) {
+        StringBuilder text = new StringBuilder();
+        int groups = random.nextInt( 10 );
+        int elideAt = random.nextInt( 3 ) == 0 ? -1 : random.nextInt( groups + 1 );
+
+        for ( int i = 0; i < groups; ++i ) {
+            text.append( i == elideAt ? "::" : i == 0 ? "" : ":" );
+            int digits = 1 + random.nextInt( random.nextInt( 10 ) == 0 ? 5 : 4 );
+            for ( int j = 0; j < digits; ++j )
+                text.append( HEX_DIGITS.charAt( random.nextInt( HEX_DIGITS.length() ) ) );
+        }
+        if ( elideAt == groups )
+            text.append( "::" );
+        if ( random.nextInt( 4 ) == 0 ) {
+            text.append( text.length() == 0 || text.charAt( text.length() - 1 ) == ':' ? "" : ":" )
+                .append( random.nextInt( 300 ) ).append( '.' ).append( random.nextInt( 256 ) )
+                .append( '.' ).append( random.nextInt( 256 ) ).append( '.' ).append( random.nextInt( 256 ) );
+        }
+        if ( random.nextInt( 20 ) == 0 )
+            text.insert( random.nextInt( text.length() + 1 ), ":" );
+
+        return text.indexOf( ":" ) == -1 ? "::" + text : text.toString();
+    }
+
+    private static void assertLiteral( String text ) throws UnknownHostException {
+        byte[] parsed = parse( text );
+
+        assertNotNull( text, parsed );
+        assertEquals( text, InetAddress.getByName( text ), InetAddress.getByAddress( parsed ) );
+    }
+
+    private static InetAddress addressOrNullFor( String text ) {
+        try {
+            return InetAddress.getByName( text );
+        } catch ( UnknownHostException e ) {
+            return null;
+        }
+    }
+}
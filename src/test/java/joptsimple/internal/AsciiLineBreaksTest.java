@@ -0,0 +1,120 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static java.util.Arrays.*;
+import static joptsimple.internal.AsciiLineBreaks.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class AsciiLineBreaksTest {
+    private static final String ALPHABET = "aaaabbZZ0199   .,-()\"!:;?[]{}%#/=<_'";
+
+    @Test
+    public void breaksAfterSpaces() {
+        assertEquals( asList( 5, 9, 14 ), breaksOf( "one  two three" ) );
+    }
+
+    @Test
+    public void breaksAfterHyphensBeforeWords() {
+        assertEquals( asList( 1, 4, 6, 11 ), breaksOf( "-c, --count" ) );
+        assertEquals( asList( 4, 10 ), breaksOf( "non-option" ) );
+    }
+
+    @Test
+    public void breaksBeforeOpeningPunctuationAfterWords() {
+        assertEquals( asList( 3, 8 ), breaksOf( "foo(bar)" ) );
+    }
+
+    @Test
+    public void leavesNumbersToBreakIterator() {
+        assertNull( breaksOf( "version 1.5" ) );
+        assertNull( breaksOf( "from -5" ) );
+    }
+
+    @Test
+    public void leavesNonAsciiToBreakIterator() {
+        assertNull( breaksOf( "caf\u00E9 au lait" ) );
+        assertNull( breaksOf( "\u65E5\u672C\u8A9E" ) );
+    }
+
+    @Test
+    public void agreesWithBreakIteratorWheneverDecided() {
+        Random random = new Random( 42L );
+        int decided = 0;
+
+        for ( int i = 0; i < 100000; ++i ) {
+            StringBuilder line = new StringBuilder();
+            for ( int length = 1 + random.nextInt( 16 ); length > 0; --length )
+                line.append( ALPHABET.charAt( random.nextInt( ALPHABET.length() ) ) );
+
+            List<Integer> breaks = breaksOf( line.toString() );
+            if ( breaks != null ) {
+                assertEquals( line.toString(), breakIteratorBreaksOf( line.toString() ), breaks );
+                ++decided;
+            }
+        }
+
+        assertTrue( decided > 10000 );
+    }
+
+    private static List<Integer> breaksOf( String line ) {
+        if ( !isDecidable( line.charAt( 0 ) ) )
+            return null;
+
+        List<Integer> breaks = new ArrayList<>();
+        for ( int i = 0; i < line.length() - 1; ++i ) {
+            int decision = between( i == 0 ? ' ' : line.charAt( i - 1 ), line.charAt( i ), line.charAt( i + 1 ) );
+            if ( decision == UNDECIDED )
+                return null;
+            if ( decision == BREAK )
+                breaks.add( i + 1 );
+        }
+        breaks.add( line.length() );
+
+        return breaks;
+    }
+
+    private static List<Integer> breakIteratorBreaksOf( String line ) {
+        BreakIterator words = BreakIterator.getLineInstance( Locale.US );
+        words.setText( line );
+
+        List<Integer> breaks = new ArrayList<>();
+        for ( int end = words.next(); end != BreakIterator.DONE; end = words.next() )
+            breaks.add( end );
+        return breaks;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static java.util.Arrays.*;
+import static joptsimple.internal.Strings.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class ColumnsTest {
+    private static final String[] WORDS = {
+        "the", "option", "--verbose", "non-option", "(default)", "e.g.", "1.5", "-5", "\"quoted\"", "caf\u00E9",
+        "\u65E5\u672C\u8A9E", "a/b", "x=y", "end.", "really-quite-long-hyphenated-word", LINE_SEPARATOR
+    };
+
+    @Test
+    public void wrapsEmbeddedLinesSeparately() {
+        List<Row> fitted = new ArrayList<>();
+
+        new Columns( 10, 10 ).fit( new Row( "-a", "first" + LINE_SEPARATOR + "second line" ), fitted );
+
+        assertEquals( asList( new Row( "-a", "first" ), new Row( "", "second" ), new Row( "", "  line" ) ), fitted );
+    }
+
+    @Test
+    public void wrapsAsBreakIteratorWould() {
+        Random random = new Random( 42L );
+
+        for ( int i = 0; i < 5000; ++i ) {
+            StringBuilder text = new StringBuilder();
+            for ( int words = 1 + random.nextInt( 12 ); words > 0; --words )
+                text.append( WORDS[ random.nextInt( WORDS.length ) ] ).append( random.nextBoolean() ? " " : "" );
+            int width = 4 + random.nextInt( 30 );
+
+            List<Row> fitted = new ArrayList<>();
+            new Columns( width, width ).fit( new Row( "", text.toString() ), fitted );
+
+            List<String> descriptions = new ArrayList<>();
+            for ( Row each : fitted )
+                descriptions.add( each.description );
+            assertEquals( text.toString(), breakIteratorPiecesOf( text.toString(), width ), descriptions );
+        }
+    }
+
+    private static List<String> breakIteratorPiecesOf( String raw, int width ) {
+        List<String> pieces = new ArrayList<>();
+
+        for ( String line : raw.trim().split( LINE_SEPARATOR ) ) {
+            BreakIterator words = BreakIterator.getLineInstance( Locale.US );
+            words.setText( line );
+
+            StringBuilder nextPiece = new StringBuilder();
+            int start = words.first();
+            for ( int end = words.next(); end != BreakIterator.DONE; start = end, end = words.next() ) {
+                String word = line.substring( start, end );
+                if ( nextPiece.length() + word.length() > width ) {
+                    pieces.add( nextPiece.toString().replaceAll( "\\s+$", "" ) );
+                    nextPiece = new StringBuilder( "  " ).append( word );
+                }
+                else
+                    nextPiece.append( word );
+            }
+
+            if ( nextPiece.length() > 0 )
+                pieces.add( nextPiece.toString() );
+        }
+
+        return pieces;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import joptsimple.Ctor;
+import joptsimple.ProbingValueConverter;
+import joptsimple.ValueConverter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static joptsimple.ExceptionMatchers.*;
+import static joptsimple.internal.ConverterRegistry.*;
+import static org.junit.Assert.*;
+import static org.junit.rules.ExpectedException.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class ConverterRegistryTest {
+    @Rule public final ExpectedException thrown = none();
+
+    @Test
+    public void resolvesConverterOncePerClass() {
+        assertSame( converterFor( Ctor.class ), converterFor( Ctor.class ) );
+    }
+
+    @Test
+    public void givesWrapperConverterForPrimitive() {
+        ValueConverter<Integer> converter = converterFor( int.class );
+
+        assertSame( converterFor( Integer.class ), converter );
+        assertEquals( Integer.class, converter.valueType() );
+        assertEquals( Integer.valueOf( -12 ), converter.convert( "-12" ) );
+    }
+
+    @Test
+    public void convertsBuiltinValueTypes() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals( Long.valueOf( Long.MIN_VALUE ), converterFor( Long.class ).convert( "-9223372036854775808" ) );
+        assertEquals( Double.valueOf( 2.5 ), converterFor( Double.class ).convert( "2.5" ) );
+        assertEquals( new BigDecimal( "1.50" ), converterFor( BigDecimal.class ).convert( "1.50" ) );
+        assertEquals( Boolean.TRUE, converterFor( Boolean.class ).convert( "true" ) );
+        assertEquals( id, converterFor( UUID.class ).convert( id.toString() ) );
+        assertEquals( "text", converterFor( String.class ).convert( "text" ) );
+    }
+
+    @Test
+    public void builtinFailsAsReflectiveConverterWould() {
+        thrown.expect( ReflectionException.class );
+        thrown.expect( withCauseOfType( NumberFormatException.class ) );
+
+        converterFor( Short.class ).convert( "40000" );
+    }
+
+    @Test
+    public void probesIntegralValuesAgainstTheirRange() {
+        ProbingValueConverter<Byte> converter = (ProbingValueConverter<Byte>) converterFor( Byte.class );
+
+        assertEquals( Byte.valueOf( (byte) 127 ), converter.tryConvert( "+127" ) );
+        assertNull( converter.tryConvert( "128" ) );
+        assertNull( converter.tryConvert( "1x" ) );
+    }
+
+    @Test
+    public void probesOtherBuiltinValues() {
+        ProbingValueConverter<UUID> converter = (ProbingValueConverter<UUID>) converterFor( UUID.class );
+
+        assertNull( converter.tryConvert( "not-a-uuid" ) );
+    }
+
+    @Test
+    public void convertsThroughStringConstructor() {
+        assertEquals( "abc", converterFor( Ctor.class ).convert( "abc" ).getS() );
+    }
+
+    @Test
+    public void wrapsFailureOfConversionMethod() {
+        thrown.expect( ReflectionException.class );
+        thrown.expect( withCauseOfType( IllegalStateException.class ) );
+
+        converterFor( Failing.class ).convert( "anything" );
+    }
+
+    @Test
+    public void convertsReflectivelyThroughMethodNotPublicToAll() {
+        assertEquals( "anything", converterFor( Hidden.class ).convert( "anything" ).value );
+    }
+
+    @Test
+    public void rejectsClassThatIsNotValueType() {
+        thrown.expect( IllegalArgumentException.class );
+
+        converterFor( Object.class );
+    }
+
+    public static class Failing {
+        public static Failing valueOf( String value ) {
+            throw new IllegalStateException( value );
+        }
+    }
+
+    static class Hidden {
+        final String value;
+
+        private Hidden( String value ) {
+            this.value = value;
+        }
+
+        public static Hidden valueOf( String value ) {
+            return new Hidden( value );
+        }
+    }
+}
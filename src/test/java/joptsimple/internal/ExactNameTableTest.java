@@ -0,0 +1,99 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class ExactNameTableTest {
+    private ExactNameTable<Integer> table;
+
+    @Before
+    public void setUp() {
+        table = new ExactNameTable<>();
+    }
+
+    @Test
+    public void findsKeysByRangeOfLargerString() {
+        table.put( "verbose", 1 );
+        table.put( "v", 2 );
+
+        assertEquals( Integer.valueOf( 1 ), table.get( "--verbose=true", 2, 9 ) );
+        assertEquals( Integer.valueOf( 2 ), table.get( "-vx", 1, 2 ) );
+        assertNull( table.get( "--verbose=true", 2, 8 ) );
+        assertNull( table.get( "--verbose=true", 2, 10 ) );
+    }
+
+    @Test
+    public void emptyRangeMatchesOnlyEmptyKey() {
+        assertNull( table.get( "--", 2, 2 ) );
+
+        table.put( "", 3 );
+
+        assertEquals( Integer.valueOf( 3 ), table.get( "--", 2, 2 ) );
+    }
+
+    @Test
+    public void replacesValueOfExistingKey() {
+        table.put( "a", 1 );
+        table.put( "a", 2 );
+
+        assertEquals( Integer.valueOf( 2 ), table.get( "a" ) );
+        assertEquals( 1, table.toJavaUtilMap().size() );
+    }
+
+    @Test
+    public void keepsEveryKeyReachableAcrossGrowthAndRemoval() {
+        for ( int i = 0; i < 100; ++i )
+            table.put( "option" + i, i );
+
+        for ( int i = 0; i < 100; i += 3 )
+            table.remove( "option" + i );
+
+        for ( int i = 0; i < 100; ++i ) {
+            String key = "option" + i;
+            if ( i % 3 == 0 )
+                assertNull( key, table.get( key ) );
+            else
+                assertEquals( key, Integer.valueOf( i ), table.get( "[" + key + "]", 1, key.length() + 1 ) );
+        }
+        assertEquals( 66, table.toJavaUtilMap().size() );
+    }
+
+    @Test
+    public void removingAbsentKeyDoesNothing() {
+        table.put( "a", 1 );
+
+        table.remove( "b" );
+
+        assertEquals( Integer.valueOf( 1 ), table.get( "a" ) );
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import joptsimple.util.RegexMatcher;
+import org.junit.Test;
+
+import static joptsimple.internal.Messages.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class MessagesTest {
+    private static final String BUNDLE = "joptsimple.ExceptionMessages";
+
+    @Test
+    public void formatsWithTemplateOfGivenLocale() {
+        assertEquals( "Value [x] did not match regex [y]", message( Locale.ENGLISH, BUNDLE, RegexMatcher.class,
+            "message", "x", "y" ) );
+        assertEquals( "regex matcher", message( new Locale( "xx", "YY" ), BUNDLE, RegexMatcher.class, "message",
+            "x", "y" ) );
+    }
+
+    @Test
+    public void formatsAgainWithCachedTemplate() {
+        String first = message( Locale.ENGLISH, BUNDLE, RegexMatcher.class, "message", "a", "b" );
+        String second = message( Locale.ENGLISH, BUNDLE, RegexMatcher.class, "message", "c", "d" );
+
+        assertEquals( "Value [a] did not match regex [b]", first );
+        assertEquals( "Value [c] did not match regex [d]", second );
+    }
+
+    @Test
+    public void keepsWorkingWhenCacheFills() {
+        for ( int i = 0; i < 2000; ++i ) {
+            Locale locale = new Locale( "l" + i );
+            assertEquals( "Value [" + i + "] did not match regex [z]",
+                message( locale, BUNDLE, RegexMatcher.class, "message", String.valueOf( i ), "z" ) );
+        }
+    }
+
+    @Test
+    public void formatsConcurrently() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for ( int i = 0; i < 64; ++i ) {
+                final String value = String.valueOf( i );
+                results.add( pool.submit( new Callable<Boolean>() {
+                    public Boolean call() {
+                        boolean consistent = true;
+                        for ( int j = 0; j < 200; ++j ) {
+                            String formatted = message( Locale.ENGLISH, BUNDLE, RegexMatcher.class, "message", value,
+                                "p" );
+                            consistent &= ( "Value [" + value + "] did not match regex [p]" ).equals( formatted );
+                        }
+                        return consistent;
+                    }
+                } ) );
+            }
+
+            for ( Future<Boolean> each : results )
+                assertTrue( each.get() );
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import org.junit.Test;
+
+import static joptsimple.internal.Numbers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class NumbersTest {
+    @Test
+    public void parsesRangeOfLargerString() {
+        assertEquals( 123, parseLong( "a,123,b", 2, 5, Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+    }
+
+    @Test
+    public void signs() {
+        assertEquals( -7, parseLong( "-7", 0, 2, Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+        assertEquals( 7, parseLong( "+7", 0, 2, Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+    }
+
+    @Test
+    public void extremes() {
+        assertEquals( Integer.MAX_VALUE, parseLong( "2147483647", 0, 10, Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+        assertEquals( Integer.MIN_VALUE, parseLong( "-2147483648", 0, 11, Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+        assertEquals( Long.MAX_VALUE, parseLong( "9223372036854775807", 0, 19, Long.MIN_VALUE, Long.MAX_VALUE ) );
+        assertEquals( Long.MIN_VALUE, parseLong( "-9223372036854775808", 0, 20, Long.MIN_VALUE, Long.MAX_VALUE ) );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void aboveMaximum() {
+        parseLong( "2147483648", 0, 10, Integer.MIN_VALUE, Integer.MAX_VALUE );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void belowMinimum() {
+        parseLong( "-2147483649", 0, 11, Integer.MIN_VALUE, Integer.MAX_VALUE );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void overflowsLong() {
+        parseLong( "92233720368547758070", 0, 20, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void signAlone() {
+        parseLong( "-", 0, 1, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void emptyRange() {
+        parseLong( "12", 1, 1, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void nonDigit() {
+        parseLong( "1x2", 0, 3, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    @Test
+    public void vetsRangesWithoutRaisingExceptions() {
+        assertTrue( isLong( "a,-123,b", 2, 6, Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+        assertTrue( isLong( "-128", 0, 4, Byte.MIN_VALUE, Byte.MAX_VALUE ) );
+        assertFalse( isLong( "128", 0, 3, Byte.MIN_VALUE, Byte.MAX_VALUE ) );
+        assertFalse( isLong( "1x2", 0, 3, Long.MIN_VALUE, Long.MAX_VALUE ) );
+        assertFalse( isLong( "+", 0, 1, Long.MIN_VALUE, Long.MAX_VALUE ) );
+        assertFalse( isLong( "", 0, 0, Long.MIN_VALUE, Long.MAX_VALUE ) );
+    }
+}
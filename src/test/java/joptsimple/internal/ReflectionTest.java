@@ -25,6 +25,7 @@
 
 package joptsimple.internal;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
@@ -101,6 +102,33 @@ public class ReflectionTest {
         invoke( method, new Object() );
     }
 
+    @Test
+    public void invokingMethodHandleWrapsErrorsAsReflectiveInvocationDoes() throws Exception {
+        Method method = Failing.class.getMethod( "valueOf", String.class );
+        MethodHandle handle = stringConversionHandleFor( method );
+
+        thrown.expect( ReflectionException.class );
+        thrown.expectMessage( AssertionError.class.getName() );
+
+        invoke( handle, "arg" );
+    }
+
+    @Test
+    public void invokingStaticMethodWrapsErrorsOfTheMethod() throws Exception {
+        Method method = Failing.class.getMethod( "valueOf", String.class );
+
+        thrown.expect( ReflectionException.class );
+        thrown.expectMessage( AssertionError.class.getName() );
+
+        invoke( method, "arg" );
+    }
+
+    public static class Failing {
+        public static Failing valueOf( String value ) {
+            throw new AssertionError( value );
+        }
+    }
+
     private abstract static class AbstractProblematic {
         protected AbstractProblematic() {
             // no-op
@@ -25,6 +25,8 @@
 
 package joptsimple.internal;
 
+import java.io.IOException;
+
 import org.junit.Test;
 
 import static joptsimple.internal.Strings.*;
@@ -76,6 +78,45 @@ public class RowsTest {
                 "                    here instead   " );
     }
 
+    @Test
+    public void rendersToSinkOneRowAtATime() throws IOException {
+        Rows rows = new Rows( 40, 2 );
+        rows.add( "left one", "right one for the time we have chosen" );
+        rows.add( "another left one", "another right one could be used here instead" );
+        rows.fitToWidth();
+        final StringBuilder rendered = new StringBuilder();
+
+        final int[] appends = new int[ 1 ];
+        rows.renderTo( new Appendable() {
+            public Appendable append( CharSequence text ) {
+                ++appends[ 0 ];
+                rendered.append( text );
+                return this;
+            }
+
+            public Appendable append( CharSequence text, int start, int end ) {
+                return append( text.subSequence( start, end ) );
+            }
+
+            public Appendable append( char c ) {
+                return append( String.valueOf( c ) );
+            }
+        } );
+
+        assertEquals( 6, appends[ 0 ] );
+        assertEquals( rows.render(), rendered.toString() );
+    }
+
+    @Test
+    public void emptyUntilRowsAdded() {
+        Rows rows = new Rows( 40, 2 );
+        assertTrue( rows.isEmpty() );
+
+        rows.add( "", "" );
+
+        assertFalse( rows.isEmpty() );
+    }
+
     private void assertRows( Rows rows, String... expected ) {
         rows.fitToWidth();
 
@@ -30,7 +30,16 @@ import java.text.FieldPosition;
 import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static java.text.DateFormat.*;
 
@@ -110,6 +119,85 @@ public class DateConverterTest {
         assertEquals( new LocalDate( 2009, 7, 4 ).toDate(), datePattern( "MM/dd/yyyy" ).convert( "07/04/2009" ) );
     }
 
+    @Test
+    public void probesValuesWithoutRaisingExceptions() {
+        DateConverter converter = datePattern( "MM/dd/yyyy" );
+
+        assertEquals( new LocalDate( 2009, 7, 4 ).toDate(), converter.tryConvert( "07/04/2009" ) );
+        assertNull( converter.tryConvert( "07/04/2009 12:00" ) );
+        assertNull( converter.tryConvert( "yesterday" ) );
+    }
+
+    @Test
+    public void convertsIsoDatesAsParserWould() {
+        Random random = new Random( 20091224L );
+        for ( String zone : new String[] { "UTC", "America/Chicago", "Pacific/Kiritimati" } ) {
+            SimpleDateFormat isoDates = new SimpleDateFormat( "yyyy-MM-dd" );
+            isoDates.setLenient( false );
+            isoDates.setTimeZone( TimeZone.getTimeZone( zone ) );
+            DateConverter converter = new DateConverter( isoDates );
+            SimpleDateFormat parser = (SimpleDateFormat) isoDates.clone();
+
+            for ( int i = 0; i < 5000; ++i ) {
+                String value = String.format( "%04d-%02d-%02d",
+                    random.nextInt( 10 ) == 0 ? random.nextInt( 3 ) : 1580 + random.nextInt( 900 ),
+                    random.nextInt( 14 ),
+                    random.nextInt( 33 ) );
+
+                ParsePosition position = new ParsePosition( 0 );
+                Date expected = parser.parse( value, position );
+                assertEquals( zone + " " + value,
+                    position.getIndex() == value.length() ? expected : null,
+                    converter.tryConvert( value ) );
+            }
+        }
+    }
+
+    @Test
+    public void ignoresChangesToFormatterAfterCreation() {
+        SimpleDateFormat isoDates = new SimpleDateFormat( "yyyy-MM-dd" );
+        isoDates.setLenient( false );
+        DateConverter converter = new DateConverter( isoDates );
+
+        isoDates.applyPattern( "MM/dd/yyyy" );
+        isoDates.setLenient( true );
+
+        assertEquals( new LocalDate( 2009, 7, 4 ).toDate(), converter.tryConvert( "2009-07-04" ) );
+        assertNull( converter.tryConvert( "2009-02-30" ) );
+        assertNull( converter.tryConvert( "07/04/2009" ) );
+        assertEquals( "yyyy-MM-dd", converter.valuePattern() );
+    }
+
+    @Test
+    public void convertsConcurrentlyWithSharedConverter() throws Exception {
+        final DateConverter converter = datePattern( "MM/dd/yyyy HH:mm" );
+        ExecutorService pool = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<Integer>> mismatches = new ArrayList<>();
+            for ( int i = 0; i < 8; ++i ) {
+                final int day = i + 1;
+                mismatches.add( pool.submit( new Callable<Integer>() {
+                    public Integer call() {
+                        Date expected = new LocalDate( 2009, 1, day ).toDateTimeAtStartOfDay().toDate();
+                        String value = String.format( "01/%02d/2009 00:00", day );
+
+                        int count = 0;
+                        for ( int j = 0; j < 2000; ++j ) {
+                            if ( !expected.equals( converter.convert( value ) ) )
+                                ++count;
+                        }
+                        return count;
+                    }
+                } ) );
+            }
+
+            for ( Future<Integer> each : mismatches )
+                assertEquals( Integer.valueOf( 0 ), each.get( 30, TimeUnit.SECONDS ) );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     public void rejectsNullDatePattern() {
         thrown.expect( NullPointerException.class );
@@ -32,6 +32,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.rules.ExpectedException.none;
 
@@ -60,6 +61,12 @@ public class EnumConverterTest {
         converter.convert( "Z" );
     }
 
+    @Test
+    public void probesValuesWithoutRaisingExceptions() {
+        assertEquals( TestEnum.B, converter.tryConvert( "B" ) );
+        assertNull( converter.tryConvert( "Z" ) );
+    }
+
     @Test
     public void answersCorrectValueType() {
         assertSame( TestEnum.class, converter.valueType() );
@@ -77,13 +84,101 @@ public class EnumConverterTest {
         assertEquals( "(A|B|C|D)", converter.valuePattern() );
     }
 
+    @Test
+    public void givesPatternForNewDelimitersAfterGivingPatternForOld() {
+        converter.valuePattern();
+        converter.setDelimiters( "(|)" );
+
+        assertEquals( "(A|B|C|D)", converter.valuePattern() );
+    }
+
+    @Test
+    public void rejectsValuesInOtherCaseByDefault() {
+        assertNull( converter.tryConvert( "a" ) );
+    }
+
+    @Test
+    public void rejectsPrefixesByDefault() {
+        assertNull( new ModeConverter().tryConvert( "APP" ) );
+    }
+
+    @Test
+    public void convertsValuesIgnoringCase() {
+        EnumConverter<Mode> ignoringCase = new ModeConverter( EnumConverter.Matching.IGNORING_CASE );
+
+        assertEquals( Mode.READ_WRITE, ignoringCase.convert( "read_Write" ) );
+        assertNull( ignoringCase.tryConvert( "read" + '\u0130' ) );
+    }
+
+    @Test
+    public void convertsNamesThatAreAmbiguousIgnoringCaseOnlyExactly() {
+        EnumConverter<Mode> ignoringCase = new ModeConverter( EnumConverter.Matching.IGNORING_CASE );
+
+        assertEquals( Mode.APPEND, ignoringCase.convert( "APPEND" ) );
+        assertEquals( Mode.Append, ignoringCase.convert( "Append" ) );
+        assertNull( ignoringCase.tryConvert( "append" ) );
+    }
+
+    @Test
+    public void convertsUniquePrefixes() {
+        EnumConverter<Mode> byPrefix = new ModeConverter( EnumConverter.Matching.BY_UNIQUE_PREFIX );
+
+        assertEquals( Mode.WRITE, byPrefix.convert( "W" ) );
+        assertEquals( Mode.READ_WRITE, byPrefix.convert( "READ_" ) );
+    }
+
+    @Test
+    public void convertsNameThatIsPrefixOfAnotherName() {
+        EnumConverter<Mode> byPrefix = new ModeConverter( EnumConverter.Matching.BY_UNIQUE_PREFIX );
+
+        assertEquals( Mode.READ, byPrefix.convert( "READ" ) );
+    }
+
+    @Test
+    public void rejectsAmbiguousPrefixes() {
+        EnumConverter<Mode> byPrefix = new ModeConverter( EnumConverter.Matching.BY_UNIQUE_PREFIX );
+
+        thrown.expect( ValueConversionException.class );
+
+        byPrefix.convert( "RE" );
+    }
+
+    @Test
+    public void rejectsEmptyValues() {
+        EnumConverter<Mode> loose =
+            new ModeConverter( EnumConverter.Matching.IGNORING_CASE, EnumConverter.Matching.BY_UNIQUE_PREFIX );
+
+        assertNull( loose.tryConvert( "" ) );
+    }
+
+    @Test
+    public void convertsUniquePrefixesIgnoringCase() {
+        EnumConverter<Mode> loose =
+            new ModeConverter( EnumConverter.Matching.IGNORING_CASE, EnumConverter.Matching.BY_UNIQUE_PREFIX );
+
+        assertEquals( Mode.WRITE, loose.convert( "wr" ) );
+        assertEquals( Mode.READ_WRITE, loose.convert( "Read_w" ) );
+        assertEquals( Mode.Append, loose.convert( "Append" ) );
+        assertNull( loose.tryConvert( "app" ) );
+    }
+
     private static class TestEnumConverter extends EnumConverter<TestEnum> {
         TestEnumConverter() {
             super( TestEnum.class );
         }
     }
 
+    private static class ModeConverter extends EnumConverter<Mode> {
+        ModeConverter( Matching... matching ) {
+            super( Mode.class, matching );
+        }
+    }
+
     private static enum TestEnum {
         A, B, C, D
     }
+
+    private static enum Mode {
+        READ, READ_WRITE, WRITE, APPEND, Append
+    }
 }
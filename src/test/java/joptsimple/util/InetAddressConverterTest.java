@@ -26,24 +26,45 @@
 package joptsimple.util;
 
 import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import joptsimple.ValueConversionException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static java.util.Arrays.*;
+import static java.util.concurrent.TimeUnit.*;
 
 import static org.junit.Assert.*;
 import static org.junit.Assume.*;
+import static org.junit.rules.ExpectedException.*;
 
 /**
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 public class InetAddressConverterTest {
+    @Rule public final ExpectedException thrown = none();
+
     private InetAddressConverter converter;
+    private InMemoryResolver resolver;
 
     @Before
-    public void setUp() {
+    public void setUp() throws Exception {
         converter = new InetAddressConverter();
+        resolver = new InMemoryResolver();
+        resolver.hosts.put( "alpha", InetAddress.getByAddress( "alpha", new byte[] { 10, 0, 0, 1 } ) );
+        resolver.hosts.put( "beta", InetAddress.getByAddress( "beta", new byte[] { 10, 0, 0, 2 } ) );
     }
 
     @Test
@@ -57,4 +78,140 @@ public class InetAddressConverterTest {
     public void unknownHost() {
         converter.convert( String.valueOf( new Random().nextDouble() ) );
     }
+
+    @Test
+    public void convertsLiteralsWithoutResolving() {
+        InetAddressConverter literalsOnly = new InetAddressConverter( resolver );
+
+        assertEquals( "192.168.1.20", literalsOnly.convert( "192.168.1.20" ).getHostAddress() );
+        assertEquals( "0:0:0:0:0:0:0:1", literalsOnly.convert( "[::1]" ).getHostAddress() );
+        assertEquals( 0, resolver.lookups );
+    }
+
+    @Test
+    public void resolvesHostNamesWithResolver() {
+        InetAddress address = new InetAddressConverter( resolver ).convert( "alpha" );
+
+        assertEquals( "10.0.0.1", address.getHostAddress() );
+        assertEquals( 1, resolver.lookups );
+    }
+
+    @Test
+    public void resolvesEveryTimeWithoutTimeToLive() {
+        InetAddressConverter uncached = new InetAddressConverter( resolver );
+
+        uncached.convert( "alpha" );
+        uncached.convert( "alpha" );
+
+        assertEquals( 2, resolver.lookups );
+    }
+
+    @Test
+    public void remembersResolvedAddressesForTimeToLive() {
+        InetAddressConverter cached = new InetAddressConverter( resolver, 1, HOURS );
+
+        assertSame( cached.convert( "alpha" ), cached.convert( "alpha" ) );
+        assertEquals( 1, resolver.lookups );
+    }
+
+    @Test
+    public void resolvesAgainOnceTimeToLiveHasPassed() throws Exception {
+        InetAddressConverter cached = new InetAddressConverter( resolver, 1, MILLISECONDS );
+
+        cached.convert( "alpha" );
+        Thread.sleep( 20 );
+        cached.convert( "alpha" );
+
+        assertEquals( 2, resolver.lookups );
+    }
+
+    @Test
+    public void probesUnknownHostWithoutRaisingException() {
+        assertNull( new InetAddressConverter( resolver ).tryConvert( "gamma" ) );
+    }
+
+    @Test
+    public void rejectsUnknownHostOfResolver() {
+        thrown.expect( ValueConversionException.class );
+        thrown.expectMessage( "gamma" );
+
+        new InetAddressConverter( resolver ).convert( "gamma" );
+    }
+
+    @Test
+    public void convertsAllValuesConcurrentlyInOrder() {
+        ExecutorService pool = Executors.newFixedThreadPool( 4 );
+        try {
+            List<InetAddress> addresses =
+                new InetAddressConverter( resolver ).convertAll( asList( "beta", "127.0.0.1", "alpha" ), pool );
+
+            List<String> hostAddresses = new ArrayList<>();
+            for ( InetAddress each : addresses )
+                hostAddresses.add( each.getHostAddress() );
+            assertEquals( asList( "10.0.0.2", "127.0.0.1", "10.0.0.1" ), hostAddresses );
+            assertEquals( 2, resolver.lookups );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reportsFirstValueThatDoesNotConvertAmongAll() {
+        ExecutorService pool = Executors.newFixedThreadPool( 4 );
+        try {
+            thrown.expect( ValueConversionException.class );
+            thrown.expectMessage( "gamma" );
+
+            new InetAddressConverter( resolver ).convertAll( asList( "alpha", "gamma", "delta" ), pool );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reportsInterruptWhileWaitingAsSuchAndCancelsResolutions() {
+        final List<Runnable> pending = new ArrayList<>();
+        Executor queue = new Executor() {
+            public void execute( Runnable command ) {
+                pending.add( command );
+            }
+        };
+
+        Thread.currentThread().interrupt();
+        try {
+            new InetAddressConverter( resolver ).convertAll( asList( "alpha", "beta" ), queue );
+            fail();
+        } catch ( IllegalStateException expected ) {
+            assertTrue( expected.getCause() instanceof InterruptedException );
+            assertTrue( Thread.interrupted() );
+        }
+
+        for ( Runnable each : pending )
+            assertTrue( ( (Future<?>) each ).isCancelled() );
+        assertEquals( 2, pending.size() );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void rejectsNullResolver() {
+        new InetAddressConverter( null );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void rejectsNegativeTimeToLive() {
+        new InetAddressConverter( resolver, -1, SECONDS );
+    }
+
+    private static class InMemoryResolver implements InetAddressConverter.Resolver {
+        final Map<String, InetAddress> hosts = new HashMap<>();
+        int lookups;
+
+        public synchronized InetAddress resolve( String host ) throws UnknownHostException {
+            ++lookups;
+
+            InetAddress address = hosts.get( host );
+            if ( address == null )
+                throw new UnknownHostException( host );
+            return address;
+        }
+    }
 }
@@ -2,13 +2,20 @@ package joptsimple.util;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import joptsimple.ValueConversionException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import static java.util.Arrays.asList;
 import static joptsimple.util.PathProperties.*;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -101,4 +108,50 @@ public class PathConverterTest {
 
         new PathConverter( FILE_OVERWRITABLE ).convert( pathName );
     }
+
+    @Test
+    public void convertsAllValuesInOrder() throws Exception {
+        Path directory = Files.createTempDirectory( "prefix" );
+        directory.toFile().deleteOnExit();
+        List<String> pathNames = new ArrayList<>();
+        for ( int i = 0; i < 600; ++i ) {
+            Path path = Files.createFile( directory.resolve( "file" + i ) );
+            path.toFile().deleteOnExit();
+            pathNames.add( path.toString() );
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool( 4 );
+        try {
+            List<Path> paths = new PathConverter( FILE_EXISTING, READABLE ).convertAll( pathNames, pool );
+
+            assertEquals( pathNames.size(), paths.size() );
+            for ( int i = 0; i < paths.size(); ++i )
+                assertEquals( pathNames.get( i ), paths.get( i ).toString() );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reportsEveryValueThatDoesNotConvert() throws Exception {
+        Path existing = Files.createTempFile( "prefix", null );
+        existing.toFile().deleteOnExit();
+        Path first = Files.createTempFile( "prefix", null );
+        Path second = Files.createTempFile( "prefix", null );
+        Files.deleteIfExists( first );
+        Files.deleteIfExists( second );
+
+        ExecutorService pool = Executors.newFixedThreadPool( 2 );
+        try {
+            exception.expect( ValueConversionException.class );
+            exception.expectMessage( "File [" + first + "] does not exist" );
+            exception.expectMessage( "File [" + second + "] does not exist" );
+            exception.expectMessage( not( containsString( existing.toString() ) ) );
+
+            new PathConverter( FILE_EXISTING ).convertAll(
+                asList( first.toString(), existing.toString(), second.toString() ), pool );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 }
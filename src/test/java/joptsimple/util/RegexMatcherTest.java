@@ -25,6 +25,15 @@
 
 package joptsimple.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.regex.Pattern.*;
+
 import joptsimple.ValueConversionException;
 import org.junit.Before;
 import org.junit.Rule;
@@ -67,11 +76,63 @@ public class RegexMatcherTest {
         new RegexMatcher( "\\d+", 0 ).convert( "asdf" );
     }
 
+    @Test
+    public void probesValuesWithoutRaisingExceptions() {
+        assertEquals( "abc", abc.tryConvert( "abc" ) );
+        assertNull( abc.tryConvert( "abcd" ) );
+    }
+
     @Test
     public void shouldOfferConvenienceMethodForCreatingMatcherWithNoFlags() {
         assertEquals( "sourceforge.net", regex( "\\w+\\.\\w+" ).convert( "sourceforge.net" ) );
     }
 
+    @Test
+    public void raisesExceptionForValueRejectedBeforeMatching() {
+        thrown.expect( ValueConversionException.class );
+        thrown.expectMessage( "[a-z]+\\d" );
+        thrown.expectMessage( "abc-1" );
+
+        new RegexMatcher( "[a-z]+\\d", 0 ).convert( "abc-1" );
+    }
+
+    @Test
+    public void honorsFlagsWhenRejectingBeforeMatching() {
+        assertEquals( "ABC", new RegexMatcher( "abc", CASE_INSENSITIVE ).convert( "ABC" ) );
+        assertEquals( "a.c", new RegexMatcher( "a.c", LITERAL ).convert( "a.c" ) );
+        assertNull( new RegexMatcher( "a.c", LITERAL ).tryConvert( "abc" ) );
+    }
+
+    @Test
+    public void matchesConcurrentlyWithSharedMatcher() throws Exception {
+        final RegexMatcher identifier = new RegexMatcher( "[a-z]\\w*(\\.[a-z]\\w*)*", 0 );
+        ExecutorService pool = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<Integer>> mismatches = new ArrayList<>();
+            for ( int i = 0; i < 8; ++i ) {
+                final String matching = "joptsimple.util.n" + i;
+                final String nonMatching = "joptsimple..n" + i;
+                mismatches.add( pool.submit( new Callable<Integer>() {
+                    public Integer call() {
+                        int count = 0;
+                        for ( int j = 0; j < 2000; ++j ) {
+                            if ( identifier.tryConvert( matching ) == null )
+                                ++count;
+                            if ( identifier.tryConvert( nonMatching ) != null )
+                                ++count;
+                        }
+                        return count;
+                    }
+                } ) );
+            }
+
+            for ( Future<Integer> each : mismatches )
+                assertEquals( Integer.valueOf( 0 ), each.get() );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldAnswerCorrectValueType() {
         assertEquals( String.class, abc.valueType() );
@@ -0,0 +1,131 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2015 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.util;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import static java.util.regex.Pattern.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
+ */
+public class RegexPrefilterTest {
+    private static final String[] EXPRESSIONS = {
+        "abc", "^abc$", "a*", "a+b?", "a{2,4}c", "(ab){2}x*", "(?:ab)+c", "[a-c]+", "[^a-c]+", "\\d{3}-\\d{4}",
+        "\\w+\\.\\w+", "[-a]+", "[a-]+", "[\\da-c.]+", "x\\.y", ".b.", "a.*z", "a\\s?b", "\\D+", "(a(b)c)*d",
+        "a{0}b", "a{2,}", "^a$", "(a)$", "a$b", "a*?b", "a++b", "[.]x", "()a", "ab|cd", "(?i)ab", "a(?=b)b",
+        "\\Qa.b\\E", "\u00E9+", "[\u00E9]a", "\\p{Alpha}+", "\\ta", "[a-c&&b]", "\\u0061b", "\\x61b", "a\\b",
+        "^", "$", "^$", ""
+    };
+    private static final String ALPHABET = "abcdxyz.-0189 \tA\u00E9\n\uD83D\uDE00";
+
+    @Test
+    public void boundsLengthsOfMatchingValues() {
+        RegexPrefilter prefilter = RegexPrefilter.of( "\\d{3}-\\d{2,4}", 0 );
+
+        assertEquals( 6, prefilter.minLength() );
+        assertEquals( 8, prefilter.maxLength() );
+    }
+
+    @Test
+    public void leavesLengthsOfRepeatedPartsUnbounded() {
+        assertEquals( -1, RegexPrefilter.of( "a\\w+", 0 ).maxLength() );
+    }
+
+    @Test
+    public void findsRequiredLiteralPrefixAndSuffix() {
+        RegexPrefilter prefilter = RegexPrefilter.of( "^(?:ab)+c[0-9]*\\.txt$", 0 );
+
+        assertEquals( "ab", prefilter.prefix() );
+        assertEquals( ".txt", prefilter.suffix() );
+    }
+
+    @Test
+    public void rejectsValuesWithCharactersOutsideAsciiClasses() {
+        RegexPrefilter prefilter = RegexPrefilter.of( "[a-z]+\\d*", 0 );
+
+        assertTrue( prefilter.rejects( "abc-1" ) );
+        assertTrue( prefilter.rejects( "abcé" ) );
+        assertFalse( prefilter.rejects( "1abc" ) );
+    }
+
+    @Test
+    public void decidesExpressionsMatchingOneStringByComparison() {
+        RegexPrefilter prefilter = RegexPrefilter.of( "ab(c\\.){2}", 0 );
+
+        assertTrue( prefilter.isConclusive() );
+        assertFalse( prefilter.rejects( "abc.c." ) );
+        assertTrue( prefilter.rejects( "abc.cx" ) );
+    }
+
+    @Test
+    public void treatsLiteralExpressionsAsSingleStrings() {
+        RegexPrefilter prefilter = RegexPrefilter.of( "a.b", LITERAL );
+
+        assertTrue( prefilter.isConclusive() );
+        assertTrue( prefilter.rejects( "axb" ) );
+    }
+
+    @Test
+    public void rejectsNothingForUnanalyzedExpressions() {
+        assertSame( RegexPrefilter.NONE, RegexPrefilter.of( "ab|cd", 0 ) );
+        assertSame( RegexPrefilter.NONE, RegexPrefilter.of( "abc", CASE_INSENSITIVE ) );
+        assertFalse( RegexPrefilter.NONE.rejects( "" ) );
+    }
+
+    @Test
+    public void neverRejectsMatchingValues() {
+        Random random = new Random( 1L );
+
+        for ( String each : EXPRESSIONS ) {
+            for ( int flags : new int[] { 0, DOTALL, LITERAL, MULTILINE } ) {
+                Pattern pattern = Pattern.compile( each, flags );
+                RegexPrefilter prefilter = RegexPrefilter.of( each, flags );
+
+                for ( int i = 0; i < 2000; ++i ) {
+                    String value = i == 0 ? each : randomValue( random );
+                    boolean matches = pattern.matcher( value ).matches();
+
+                    assertEquals( each + " against " + value, !matches && prefilter.rejects( value ),
+                        prefilter.rejects( value ) );
+                    if ( prefilter.isConclusive() )
+                        assertEquals( each + " against " + value, matches, !prefilter.rejects( value ) );
+                }
+            }
+        }
+    }
+
+    private static String randomValue( Random random ) {
+        StringBuilder value = new StringBuilder();
+        for ( int length = random.nextInt( 9 ); length > 0; --length )
+            value.append( ALPHABET.charAt( random.nextInt( ALPHABET.length() ) ) );
+        return value.toString();
+    }
+}